@@ -68,6 +68,13 @@ INSERT INTO task_required_skills (task_id, skill_id) VALUES (11, 12);
 INSERT INTO task_required_skills (task_id, skill_id) VALUES (7, 11);
 
 
+-- Sample Coverage Requirements (the former hardcoded daily shift definitions; day_of_week NULL = every day,
+-- headcount NULL = the task's minimum/optimal coverage)
+CREATE TABLE coverage_requirements (id INT PRIMARY KEY, task_id INT NOT NULL, day_of_week VARCHAR(9), override_date DATE, start_time TIME NOT NULL, end_time TIME NOT NULL, headcount INT);
+INSERT INTO coverage_requirements (id, task_id, day_of_week, override_date, start_time, end_time, headcount) VALUES (1, 7, NULL, NULL, '09:00', '13:00', NULL);
+INSERT INTO coverage_requirements (id, task_id, day_of_week, override_date, start_time, end_time, headcount) VALUES (2, 8, NULL, NULL, '13:00', '17:00', NULL);
+INSERT INTO coverage_requirements (id, task_id, day_of_week, override_date, start_time, end_time, headcount) VALUES (3, 9, NULL, NULL, '17:00', '21:00', NULL);
+
 -- Sample User (Password: 'password')
 -- Use a BCrypt generator to get the hash for 'password'
 CREATE TABLE users (id INT PRIMARY KEY, enabled BOOLEAN, password VARCHAR(255), username VARCHAR(255));
@@ -10,9 +10,18 @@ import java.util.List;
 public class ScheduleGenerationResultDTO {
     private List<ShiftDTO> shifts;
     private List<String> explanations;
+    /** Random seed the generation run used; pass it back in the request to reproduce the run. */
+    private Long seed;
+    /** Metrics of the optimizer run (null if no run took place). */
+    private ScheduleRunMetricsDTO metrics;
 
     public ScheduleGenerationResultDTO(List<ShiftDTO> shifts, List<String> explanations) {
         this.shifts = shifts;
         this.explanations = explanations;
     }
+
+    public ScheduleGenerationResultDTO(List<ShiftDTO> shifts, List<String> explanations, Long seed) {
+        this(shifts, explanations);
+        this.seed = seed;
+    }
 }
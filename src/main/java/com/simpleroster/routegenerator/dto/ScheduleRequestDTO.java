@@ -23,4 +23,16 @@ public class ScheduleRequestDTO {
     
     /** Business end time in 24-hour format (HH:MM) */
     private String businessEndTime;   // e.g., "17:00"
+
+    /** Optional random seed for the optimizer. Reusing the seed of a previous run replays it exactly (same data and settings). */
+    private Long seed;
+
+    /** Optional wall-clock budget for the optimizer in milliseconds (0 = no limit); defaults to the ga.time.budget.ms setting. */
+    private Long timeBudgetMs;
+
+    /**
+     * Optional optimizer: "ga" (genetic algorithm), "tabu" (tabu search, suited to small and medium rosters)
+     * or "annealing" (simulated annealing, low memory). Defaults to the solver.engine setting ("ga" unless configured).
+     */
+    private String solver;
 }
\ No newline at end of file
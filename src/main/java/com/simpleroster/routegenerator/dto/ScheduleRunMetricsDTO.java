@@ -0,0 +1,48 @@
+package com.simpleroster.routegenerator.dto;
+
+import lombok.Data;
+
+/**
+ * Metrics about the optimizer run behind a generated schedule.
+ */
+@Data
+public class ScheduleRunMetricsDTO {
+    /** Name of the solver that produced the schedule (e.g. "ga", "tabu" or "annealing") */
+    private String solver;
+
+    /** Generations (GA) or iterations (tabu search, annealing) actually run */
+    private int generationsRun;
+
+    /** Configured maximum number of generations or iterations */
+    private int maxGenerations;
+
+    /** Generations or iterations not needed because a termination criterion fired early */
+    private int generationsSaved;
+
+    /** Criterion that ended the run (MAX_GENERATIONS, LOWER_BOUND, STAGNATION, LOW_DIVERSITY, TIME_BUDGET) */
+    private String terminationReason;
+
+    /** Time budget the run had in milliseconds (0 = no limit) */
+    private long timeBudgetMillis;
+
+    /** Whether the time budget ran out, i.e. the schedule is the best found so far rather than a converged result */
+    private boolean timeBudgetExhausted;
+
+    /** Fitness (total penalty) of the returned schedule; lower is better */
+    private double bestFitness;
+
+    /** Fitness evaluations looked up in the GA fitness cache (0 when the solver has no cache) */
+    private long fitnessCacheLookups;
+
+    /** Fitness evaluations skipped because the cache already knew an identical chromosome */
+    private long fitnessCacheHits;
+
+    /** Share (0.0 to 1.0) of the looked-up evaluations the cache answered */
+    private double fitnessCacheHitRate;
+
+    /** Times simulated annealing reheated after stagnating (0 for the other solvers) */
+    private int reheats;
+
+    /** Wall-clock duration of the optimization in milliseconds */
+    private long runtimeMillis;
+}
@@ -0,0 +1,64 @@
+package com.simpleroster.routegenerator.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Staffing demand for one task in one time window: the schedule generator turns every matching day into a
+ * required shift slot with {@link #headcount} seats.
+ * <p>
+ * A requirement is either weekly (no {@link #overrideDate}; applies on its {@link #dayOfWeek}, or on every day if
+ * that is null) or a date-specific override. If a date has any override, its overrides replace all weekly
+ * requirements of that date, so a holiday can get a different demand, or none at all with a headcount of 0.
+ */
+@Entity
+@Table(name = "coverage_requirements")
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(exclude = {"task"}) // Exclude relationships from default equals/hashCode
+@ToString(exclude = {"task"}) // Exclude relationships from default toString
+public class CoverageRequirement {
+
+    /** Unique identifier for the requirement. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** The task to be staffed (which implies the skill requirements). */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "task_id", nullable = false)
+    private Task task;
+
+    /** Weekday a weekly requirement applies to; null applies it to every day. Ignored for overrides. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", length = 9)
+    private DayOfWeek dayOfWeek;
+
+    /** Date of a date-specific override; null for a weekly requirement. */
+    @Column(name = "override_date")
+    private LocalDate overrideDate;
+
+    /** The time the required shift starts. */
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    /** The time the required shift ends (after the start time). */
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    /**
+     * Number of employees needed. Null uses the task's minimum and optimal coverage; 0 (useful for overrides)
+     * requires nobody.
+     */
+    @Column(name = "headcount")
+    private Integer headcount;
+}
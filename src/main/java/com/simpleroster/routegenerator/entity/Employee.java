@@ -25,7 +25,7 @@ import java.util.Set;
 @Getter
 @Setter
 @NoArgsConstructor
-@EqualsAndHashCode(exclude = {"skills"}) // Exclude collections from equals/hashCode
+@EqualsAndHashCode(exclude = {"skills", "version"}) // Exclude collections (and the JPA version) from equals/hashCode
 @ToString(exclude = {"skills"}) // Exclude collections from toString to avoid recursion
 public class Employee {
     @Id
@@ -33,6 +33,14 @@ public class Employee {
     @Column(name = "id")
     private Long id;
 
+    /**
+     * Optimistic-locking version, incremented by JPA on every update.
+     * Also used to key the compiled scheduling profile cache, so a stale profile is never reused after an edit.
+     */
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0")
+    private Long version;
+
     /** Employee's full name (must be unique). */
     @Column(name = "name", nullable = false, unique = true)
     private String name;
@@ -44,7 +52,7 @@ public class Employee {
     /**
      * String representation of employee availability.
      * Format: Comma-separated values like "Day_StartTime_EndTime", e.g., "Mon_0900_1700,Tue_1000_1800".
-     * Parsing logic is handled in ScheduleService.
+     * Parsing logic is handled by EmployeeConstraintProfile.
      * TODO: Consider a more structured approach (dedicated table or JSONB).
      */
     @Column(name = "availability", columnDefinition = "text")
@@ -53,7 +61,7 @@ public class Employee {
     /**
      * String representation of employee preferences.
      * Format: Semicolon-separated key-value pairs, e.g., "unpreferred:Mon_Morning;preferredDay:Wed".
-     * Parsing logic is handled in ScheduleService.
+     * Parsing logic is handled by EmployeeConstraintProfile.
      * TODO: Consider a more structured approach (dedicated table or JSONB).
      */
     @Column(name = "preferences", columnDefinition = "TEXT")
@@ -0,0 +1,19 @@
+package com.simpleroster.routegenerator.repository;
+
+import com.simpleroster.routegenerator.entity.CoverageRequirement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CoverageRequirementRepository extends JpaRepository<CoverageRequirement, Long> {
+
+    // All weekly requirements plus the overrides within the period, with their tasks, in one query
+    @Query("SELECT c FROM CoverageRequirement c JOIN FETCH c.task "
+            + "WHERE c.overrideDate IS NULL OR (c.overrideDate >= :startDate AND c.overrideDate <= :endDate)")
+    List<CoverageRequirement> findApplicable(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,40 @@
+package com.simpleroster.routegenerator.scheduling;
+
+/**
+ * Adaptive mutation and crossover rates for the {@link GeneticAlgorithmEngine}.
+ * Before every generation each island measures its gene-level diversity (sampled Hamming distance) and maps it
+ * linearly onto the configured bounds: a diverse population (typically early on) gets the minimum rates, a
+ * population whose diversity has collapsed to 0 gets the maximum rates.
+ *
+ * @param enabled         Whether rates adapt; if not, {@code ga.mutation.rate} and {@code ga.crossover.rate} stay fixed.
+ * @param minMutationRate Mutation rate at or above the target diversity.
+ * @param maxMutationRate Mutation rate of a fully converged population.
+ * @param minCrossoverRate Crossover rate at or above the target diversity.
+ * @param maxCrossoverRate Crossover rate of a fully converged population.
+ * @param targetDiversity Diversity (0.0 to 1.0) from which on the minimum rates apply.
+ */
+public record AdaptiveRateSettings(boolean enabled,
+                                   double minMutationRate,
+                                   double maxMutationRate,
+                                   double minCrossoverRate,
+                                   double maxCrossoverRate,
+                                   double targetDiversity) {
+
+    public static AdaptiveRateSettings disabled() {
+        return new AdaptiveRateSettings(false, 0, 0, 0, 0, 0);
+    }
+
+    public double mutationRate(double diversity) {
+        return interpolate(minMutationRate, maxMutationRate, diversity);
+    }
+
+    public double crossoverRate(double diversity) {
+        return interpolate(minCrossoverRate, maxCrossoverRate, diversity);
+    }
+
+    /** {@code max} at diversity 0, falling linearly to {@code min} at the target diversity. */
+    private double interpolate(double min, double max, double diversity) {
+        double convergence = targetDiversity > 0 ? 1.0 - Math.min(1.0, Math.max(0.0, diversity / targetDiversity)) : 0.0;
+        return min + (max - min) * convergence;
+    }
+}
@@ -0,0 +1,19 @@
+package com.simpleroster.routegenerator.scheduling;
+
+/**
+ * Configuration of the {@link SimulatedAnnealingSolver}.
+ *
+ * @param initialTemperature Starting temperature; 0 or less calibrates it from a sample of random moves so that
+ *                           an average worsening move is initially accepted with probability 1/2.
+ * @param coolingRate        Geometric cooling factor applied after every iteration (e.g. 0.9995).
+ * @param minTemperature     Lower limit of the temperature.
+ * @param maxIterations      Maximum number of iterations (one proposed move each).
+ * @param reheatAfter        Reheat when the best fitness has not improved for this many iterations; 0 disables reheating.
+ * @param reheatFactor       On reheating the temperature is set to this fraction (0.0 to 1.0) of the initial temperature.
+ */
+public record AnnealingSettings(double initialTemperature,
+                                double coolingRate,
+                                double minTemperature,
+                                int maxIterations,
+                                int reheatAfter,
+                                double reheatFactor) {}
@@ -0,0 +1,34 @@
+package com.simpleroster.routegenerator.scheduling;
+
+/**
+ * One employee's work history at the end of the preceding horizon windows (see {@link HorizonDecomposer}).
+ * The fitness calculator of the next window starts each employee's walk from this state instead of from scratch,
+ * so constraints that span windows (consecutive days, late-to-early successions, total hours, weekends) are
+ * scored as they would be over the whole horizon.
+ *
+ * @param lastWorkDay         Day index of the last worked day relative to the window's first day (so negative),
+ *                            or {@link Integer#MIN_VALUE} if the employee has not worked yet.
+ * @param lastShiftEndsLate   Whether the last worked shift ended after the late-shift threshold.
+ * @param consecutiveWorkDays Length of the work block ending on {@code lastWorkDay}.
+ * @param totalMinutes        Minutes worked so far.
+ * @param weekendsWorked      Weekends worked so far.
+ * @param workedThisWeekend   Whether the last worked shift fell on a weekend (it then continues that weekend).
+ */
+public record CarryOver(int lastWorkDay, boolean lastShiftEndsLate, int consecutiveWorkDays, long totalMinutes,
+                        int weekendsWorked, boolean workedThisWeekend) {
+
+    /** State of an employee with no work before the window. */
+    public static final CarryOver NONE = new CarryOver(Integer.MIN_VALUE, false, 0, 0, 0, false);
+
+    /** Whether the employee has worked before the window. */
+    public boolean hasWorked() {
+        return lastWorkDay != Integer.MIN_VALUE;
+    }
+
+    /** The same state with the last worked day re-based onto a window starting {@code days} days later. */
+    CarryOver shiftedBy(int days) {
+        return hasWorked()
+                ? new CarryOver(lastWorkDay - days, lastShiftEndsLate, consecutiveWorkDays, totalMinutes, weekendsWorked, workedThisWeekend)
+                : this;
+    }
+}
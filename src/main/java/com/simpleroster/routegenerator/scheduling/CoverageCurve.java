@@ -0,0 +1,119 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Task;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Staffing demand as a curve: per task and day, the minimum and optimal number of employees in every 15-minute
+ * bucket. With a curve the {@link FitnessCalculator} scores coverage (S1) per bucket instead of per slot, so shifts
+ * of different lengths that partly overlap a demand window (e.g. a 10:00-14:00 shift between the morning and the
+ * afternoon demand) count where they actually are.
+ * <p>
+ * A shift covers the buckets it spans completely. Understaffing one employee for {@link #referenceMinutes()} costs
+ * as much as one missing employee on a slot, so the curve penalties stay in proportion to the other penalties.
+ * <p>
+ * Tasks are matched by identity, like the task index of the fitness calculator.
+ * <p>
+ * The curve only describes demand; the shifts that cover it are the seats of the {@link SlotTable}. When the curve
+ * comes from {@link CoverageDemand#curve}, every demand window is also a shift of the slot table, so offering a shift
+ * without demanding its window takes a {@link RequiredShiftSlot} added outside the coverage requirements.
+ */
+public final class CoverageCurve {
+
+    public static final int BUCKET_MINUTES = 15;
+    public static final int BUCKETS_PER_DAY = 24 * 60 / BUCKET_MINUTES;
+
+    private final int dayCount;
+    private final int referenceMinutes;
+    private final Map<Task, int[]> minimum; // Per task: dayCount * BUCKETS_PER_DAY employees, day-major
+    private final Map<Task, int[]> optimal; // Same layout
+
+    private CoverageCurve(int dayCount, int referenceMinutes, Map<Task, int[]> minimum, Map<Task, int[]> optimal) {
+        this.dayCount = dayCount;
+        this.referenceMinutes = referenceMinutes;
+        this.minimum = minimum;
+        this.optimal = optimal;
+    }
+
+    /**
+     * Starts an empty curve over {@code dayCount} days.
+     *
+     * @param referenceMinutes Understaffing minutes that cost as much as one missing employee on a slot.
+     */
+    public static Builder builder(int dayCount, int referenceMinutes) {
+        return new Builder(dayCount, referenceMinutes);
+    }
+
+    public int dayCount() {
+        return dayCount;
+    }
+
+    public int referenceMinutes() {
+        return referenceMinutes;
+    }
+
+    /** Minimum employees per bucket of the task ({@code day * BUCKETS_PER_DAY + bucket}), or null if it has no demand. */
+    int[] minimum(Task task) {
+        return minimum.get(task);
+    }
+
+    /** Optimal employees per bucket of the task, or null if it has no demand. */
+    int[] optimal(Task task) {
+        return optimal.get(task);
+    }
+
+    /** The curve of days {@code fromDay} to {@code toDay} (exclusive), for a window of a decomposed horizon. */
+    public CoverageCurve days(int fromDay, int toDay) {
+        Map<Task, int[]> minimumSlice = new IdentityHashMap<>();
+        Map<Task, int[]> optimalSlice = new IdentityHashMap<>();
+        minimum.forEach((task, curve) -> minimumSlice.put(task,
+                Arrays.copyOfRange(curve, fromDay * BUCKETS_PER_DAY, toDay * BUCKETS_PER_DAY)));
+        optimal.forEach((task, curve) -> optimalSlice.put(task,
+                Arrays.copyOfRange(curve, fromDay * BUCKETS_PER_DAY, toDay * BUCKETS_PER_DAY)));
+        return new CoverageCurve(toDay - fromDay, referenceMinutes, minimumSlice, optimalSlice);
+    }
+
+    /** First bucket a shift starting at the minute covers completely. */
+    static int firstBucket(int startMinute) {
+        return Math.min(BUCKETS_PER_DAY, (startMinute + BUCKET_MINUTES - 1) / BUCKET_MINUTES);
+    }
+
+    /** Bucket after the last one a shift ending at the minute covers completely; a shift ending at or before its start runs to midnight. */
+    static int endBucket(int startMinute, int endMinute) {
+        return endMinute <= startMinute ? BUCKETS_PER_DAY : Math.min(BUCKETS_PER_DAY, endMinute / BUCKET_MINUTES);
+    }
+
+    /** Collects demand windows; where windows of a task overlap, the higher level applies. */
+    public static final class Builder {
+
+        private final int dayCount;
+        private final int referenceMinutes;
+        private final Map<Task, int[]> minimum = new IdentityHashMap<>();
+        private final Map<Task, int[]> optimal = new IdentityHashMap<>();
+
+        private Builder(int dayCount, int referenceMinutes) {
+            this.dayCount = Math.max(dayCount, 0);
+            this.referenceMinutes = Math.max(referenceMinutes, BUCKET_MINUTES);
+        }
+
+        /** Demands {@code minimumCoverage} to {@code optimalCoverage} employees of the task in the window of the day. */
+        public Builder add(Task task, int day, int startMinute, int endMinute, int minimumCoverage, int optimalCoverage) {
+            if (day < 0 || day >= dayCount) return this;
+            int[] min = minimum.computeIfAbsent(task, t -> new int[dayCount * BUCKETS_PER_DAY]);
+            int[] opt = optimal.computeIfAbsent(task, t -> new int[dayCount * BUCKETS_PER_DAY]);
+            int offset = day * BUCKETS_PER_DAY;
+            for (int b = firstBucket(startMinute); b < endBucket(startMinute, endMinute); b++) {
+                min[offset + b] = Math.max(min[offset + b], minimumCoverage);
+                opt[offset + b] = Math.max(opt[offset + b], optimalCoverage);
+            }
+            return this;
+        }
+
+        public CoverageCurve build() {
+            return new CoverageCurve(dayCount, referenceMinutes, minimum, optimal);
+        }
+    }
+}
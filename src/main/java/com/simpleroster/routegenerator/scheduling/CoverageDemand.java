@@ -0,0 +1,172 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.CoverageRequirement;
+import com.simpleroster.routegenerator.entity.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * In-memory staffing demand of one run, compiled once from the {@link CoverageRequirement} rows.
+ * <p>
+ * Weekly requirements are kept per weekday as an array of time windows sorted by start time; date-specific
+ * overrides as a date-sorted array of such window arrays. {@link #slots} then generates the required slots of a
+ * period in a single pass over its days, advancing a cursor through the overrides instead of looking anything up
+ * per day, and emits them already in {@link SlotTable} order. {@link #curve} turns the same windows into a
+ * {@link CoverageCurve} of 15-minute buckets.
+ * <p>
+ * Every requirement row is both demand and supply: its window is demanded in the curve and is also offered as a
+ * shift with its seats. A flexible-length shift (e.g. 10:00-14:00 between a morning and an afternoon window) can
+ * therefore not be offered from the table without also demanding its own window; such shifts have to be added as
+ * {@link RequiredShiftSlot}s with a minimum coverage of 0 by the caller.
+ */
+public final class CoverageDemand {
+
+    private static final Logger log = LoggerFactory.getLogger(CoverageDemand.class);
+
+    private static final Comparator<Window> BY_START = Comparator.comparing(Window::start).thenComparing(Window::end);
+
+    /** One demanded time window of a day, with its coverage resolved. */
+    private record Window(LocalTime start, LocalTime end, Task task, int minimumCoverage, int optimalCoverage) {}
+
+    private final Window[][] weekly;          // Indexed by DayOfWeek ordinal, sorted by start time
+    private final LocalDate[] overrideDates;  // Ascending, distinct
+    private final Window[][] overrides;       // Parallel to overrideDates, sorted by start time
+    private final int skipped;                // Invalid requirements left out
+
+    private CoverageDemand(Window[][] weekly, LocalDate[] overrideDates, Window[][] overrides, int skipped) {
+        this.weekly = weekly;
+        this.overrideDates = overrideDates;
+        this.overrides = overrides;
+        this.skipped = skipped;
+    }
+
+    /**
+     * Compiles the requirements. Requirements without task, with an end time not after the start time or with a
+     * negative headcount are logged and left out.
+     */
+    public static CoverageDemand of(List<CoverageRequirement> requirements) {
+        List<List<Window>> weekly = new ArrayList<>();
+        for (int d = 0; d < DayOfWeek.values().length; d++) {
+            weekly.add(new ArrayList<>());
+        }
+        TreeMap<LocalDate, List<Window>> overrides = new TreeMap<>();
+        int skipped = 0;
+        for (CoverageRequirement requirement : requirements) {
+            Window window = toWindow(requirement);
+            if (window == null) {
+                skipped++;
+            } else if (requirement.getOverrideDate() != null) {
+                overrides.computeIfAbsent(requirement.getOverrideDate(), d -> new ArrayList<>()).add(window);
+            } else if (requirement.getDayOfWeek() != null) {
+                weekly.get(requirement.getDayOfWeek().ordinal()).add(window);
+            } else {
+                weekly.forEach(day -> day.add(window)); // Every day
+            }
+        }
+
+        Window[][] weeklyWindows = new Window[weekly.size()][];
+        for (int d = 0; d < weeklyWindows.length; d++) {
+            weeklyWindows[d] = sorted(weekly.get(d));
+        }
+        LocalDate[] overrideDates = overrides.keySet().toArray(new LocalDate[0]);
+        Window[][] overrideWindows = new Window[overrideDates.length][];
+        for (int i = 0; i < overrideDates.length; i++) {
+            overrideWindows[i] = sorted(overrides.get(overrideDates[i]));
+        }
+        log.info("Coverage demand: {} requirements, {} override dates, {} skipped as invalid.",
+                requirements.size(), overrideDates.length, skipped);
+        return new CoverageDemand(weeklyWindows, overrideDates, overrideWindows, skipped);
+    }
+
+    /** Number of requirements {@link #of} left out as invalid. */
+    public int skipped() {
+        return skipped;
+    }
+
+    /**
+     * The required slots from {@code startDate} to {@code endDate} (inclusive), sorted by date and start time.
+     * Windows with a headcount of 0 produce no slot.
+     */
+    public List<RequiredShiftSlot> slots(LocalDate startDate, LocalDate endDate) {
+        List<RequiredShiftSlot> slots = new ArrayList<>();
+        Window[][] days = windowsPerDay(startDate, endDate);
+        for (int d = 0; d < days.length; d++) {
+            LocalDate date = startDate.plusDays(d);
+            for (Window window : days[d]) {
+                if (window.minimumCoverage() > 0 || window.optimalCoverage() > 0) {
+                    slots.add(new RequiredShiftSlot(date, window.start(), window.end(), window.task(),
+                            window.minimumCoverage(), window.optimalCoverage()));
+                }
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * The demand from {@code startDate} to {@code endDate} (inclusive) as a curve, day 0 being the start date.
+     * Each window demands its coverage in the buckets it spans; where windows of a task overlap, the higher
+     * coverage applies.
+     *
+     * @param referenceMinutes Understaffing minutes that cost as much as one missing employee on a slot.
+     */
+    public CoverageCurve curve(LocalDate startDate, LocalDate endDate, int referenceMinutes) {
+        Window[][] days = windowsPerDay(startDate, endDate);
+        CoverageCurve.Builder curve = CoverageCurve.builder(days.length, referenceMinutes);
+        for (int d = 0; d < days.length; d++) {
+            for (Window window : days[d]) {
+                curve.add(window.task(), d, EmployeeConstraintProfile.toMinutes(window.start()),
+                        EmployeeConstraintProfile.toMinutes(window.end()), window.minimumCoverage(), window.optimalCoverage());
+            }
+        }
+        return curve.build();
+    }
+
+    /** The windows of each day of the period, advancing a cursor through the override dates. */
+    private Window[][] windowsPerDay(LocalDate startDate, LocalDate endDate) {
+        int dayCount = Math.max(0, (int) ChronoUnit.DAYS.between(startDate, endDate) + 1);
+        Window[][] days = new Window[dayCount][];
+        int cursor = Arrays.binarySearch(overrideDates, startDate);
+        if (cursor < 0) cursor = -cursor - 1; // First override on or after the start date
+        for (int d = 0; d < dayCount; d++) {
+            LocalDate date = startDate.plusDays(d);
+            if (cursor < overrideDates.length && overrideDates[cursor].equals(date)) {
+                days[d] = overrides[cursor++];
+            } else {
+                days[d] = weekly[date.getDayOfWeek().ordinal()];
+            }
+        }
+        return days;
+    }
+
+    private static Window toWindow(CoverageRequirement requirement) {
+        Task task = requirement.getTask();
+        LocalTime start = requirement.getStartTime();
+        LocalTime end = requirement.getEndTime();
+        Integer headcount = requirement.getHeadcount();
+        if (task == null || start == null || end == null || !end.isAfter(start) || (headcount != null && headcount < 0)) {
+            log.warn("Skipping invalid coverage requirement {}: needs a task, an end time after the start time "
+                    + "and a headcount of at least 0.", requirement.getId());
+            return null;
+        }
+        if (headcount != null) {
+            return new Window(start, end, task, headcount, headcount);
+        }
+        return new Window(start, end, task, RequiredShiftSlot.minimumCoverage(task), RequiredShiftSlot.optimalCoverage(task));
+    }
+
+    private static Window[] sorted(List<Window> windows) {
+        Window[] array = windows.toArray(new Window[0]);
+        Arrays.sort(array, BY_START);
+        return array;
+    }
+}
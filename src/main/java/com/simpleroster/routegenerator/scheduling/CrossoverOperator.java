@@ -0,0 +1,88 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import java.util.SplittableRandom;
+
+/**
+ * Crossover operators of the {@link GeneticAlgorithmEngine}, selected with the {@code ga.crossover.operator} setting.
+ * Each operator combines the gene arrays of two parents into a new gene array for one offspring.
+ * Genes are ordered by date and then start time (see {@link SlotTable}).
+ */
+public enum CrossoverOperator {
+
+    /** Genes before a random cut point come from the first parent, the rest from the second. */
+    ONE_POINT {
+        @Override
+        int[] cross(int[] parent1, int[] parent2, SlotTable slotTable, SplittableRandom random) {
+            int size = parent1.length;
+            int[] child = new int[size];
+            int cut = random.nextInt(size);
+            System.arraycopy(parent1, 0, child, 0, cut);
+            System.arraycopy(parent2, cut, child, cut, size - cut);
+            return child;
+        }
+    },
+
+    /** The genes between two random cut points come from the second parent, the rest from the first. */
+    TWO_POINT {
+        @Override
+        int[] cross(int[] parent1, int[] parent2, SlotTable slotTable, SplittableRandom random) {
+            int size = parent1.length;
+            int[] child = parent1.clone();
+            int a = random.nextInt(size + 1);
+            int b = random.nextInt(size + 1);
+            int from = Math.min(a, b);
+            int to = Math.max(a, b);
+            System.arraycopy(parent2, from, child, from, to - from);
+            return child;
+        }
+    },
+
+    /** Every gene comes from either parent with equal probability. */
+    UNIFORM {
+        @Override
+        int[] cross(int[] parent1, int[] parent2, SlotTable slotTable, SplittableRandom random) {
+            int size = parent1.length;
+            int[] child = new int[size];
+            long bits = 0;
+            for (int i = 0; i < size; i++) {
+                if ((i & 63) == 0) bits = random.nextLong(); // One random draw per 64 genes
+                child[i] = ((bits >>> (i & 63)) & 1L) == 0 ? parent1[i] : parent2[i];
+            }
+            return child;
+        }
+    },
+
+    /**
+     * Every calendar day comes as a whole from either parent with equal probability. An employee's assignments
+     * within one day are never split between parents, so per-day feasibility (no double booking, daily hours)
+     * of the parents carries over to the offspring.
+     */
+    DAY_BLOCK {
+        @Override
+        int[] cross(int[] parent1, int[] parent2, SlotTable slotTable, SplittableRandom random) {
+            int size = parent1.length;
+            int[] child = new int[size];
+            boolean[] fromSecond = new boolean[Math.max(slotTable.dayCount(), 0)];
+            for (int d = 0; d < fromSecond.length; d++) {
+                fromSecond[d] = random.nextBoolean();
+            }
+            for (int i = 0; i < size; i++) {
+                int day = slotTable.dayIndex(i);
+                boolean second = day >= 0 && day < fromSecond.length && fromSecond[day];
+                child[i] = second ? parent2[i] : parent1[i];
+            }
+            return child;
+        }
+    };
+
+    /**
+     * Creates the offspring genes. The parents' arrays are only read.
+     *
+     * @param parent1   Genes of the first parent.
+     * @param parent2   Genes of the second parent, same length.
+     * @param slotTable Slot metadata of the run (for day boundaries).
+     * @param random    Stream of the calling island.
+     * @return A new gene array owned by the caller.
+     */
+    abstract int[] cross(int[] parent1, int[] parent2, SlotTable slotTable, SplittableRandom random);
+}
@@ -0,0 +1,57 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock deadline of a generation run (anytime mode): once it has passed the optimizer stops and returns
+ * the best schedule found so far. Immutable, so all islands can check it concurrently.
+ */
+public final class Deadline {
+
+    /** No time limit. */
+    public static final Deadline NONE = new Deadline(0, 0);
+
+    private final long deadlineNanos;   // System.nanoTime() value at which the budget is spent
+    private final long budgetMillis;
+
+    private Deadline(long deadlineNanos, long budgetMillis) {
+        this.deadlineNanos = deadlineNanos;
+        this.budgetMillis = budgetMillis;
+    }
+
+    /**
+     * @param budgetMillis Time budget from now on; 0 means no limit.
+     * @throws IllegalArgumentException if the budget is negative, so a bounded run never silently becomes unbounded.
+     */
+    public static Deadline after(long budgetMillis) {
+        if (budgetMillis < 0) {
+            throw new IllegalArgumentException("Time budget must not be negative: " + budgetMillis + " ms");
+        }
+        if (budgetMillis == 0) {
+            return NONE;
+        }
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis), budgetMillis);
+    }
+
+    public boolean isSet() {
+        return budgetMillis > 0;
+    }
+
+    /** The budget this deadline was created with, 0 if there is none. */
+    public long budgetMillis() {
+        return budgetMillis;
+    }
+
+    /** Milliseconds left until the deadline (0 once expired), or {@link Long#MAX_VALUE} for {@link #NONE}. */
+    public long remainingMillis() {
+        if (!isSet()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    /** True once the budget is spent; never true for {@link #NONE}. */
+    public boolean expired() {
+        return isSet() && System.nanoTime() - deadlineNanos >= 0; // Difference form is safe against nanoTime overflow
+    }
+}
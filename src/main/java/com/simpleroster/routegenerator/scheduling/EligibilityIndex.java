@@ -0,0 +1,55 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed per-slot lists of eligible employees (required skills held and available for the slot window),
+ * so the GA can create and mutate genes that do not start out as hard-constraint violations.
+ * Eligibility only depends on the slot, so it is computed once per required slot and shared by all its seats.
+ * Immutable after construction and shared by all islands/threads of a run.
+ */
+public final class EligibilityIndex {
+
+    private final SlotTable slotTable;
+    private final int[][] eligible; // Dense employee indices per required slot (see SlotTable#slotIndex), ascending
+    private final int employeeCount;
+
+    public EligibilityIndex(FitnessCalculator fitnessCalculator) {
+        this.slotTable = fitnessCalculator.getSlotTable();
+        this.employeeCount = fitnessCalculator.employeeCount();
+        this.eligible = new int[slotTable.slotCount()][];
+        int[] buffer = new int[employeeCount];
+        for (int s = 0; s < slotTable.size(); s++) {
+            if (slotTable.seat(s) != 0) continue; // Evaluated on the first seat, shared by the others
+            int count = 0;
+            for (int e = 0; e < employeeCount; e++) {
+                if (fitnessCalculator.isEligible(e, s)) {
+                    buffer[count++] = e;
+                }
+            }
+            eligible[slotTable.slotIndex(s)] = Arrays.copyOf(buffer, count);
+        }
+    }
+
+    /** Eligible employee indices for the slot ordinal (seat). Callers must not modify the returned array. */
+    public int[] eligible(int slot) {
+        return eligible[slotTable.slotIndex(slot)];
+    }
+
+    /** Eligible employee indices for the required slot with the given slot index. Callers must not modify the array. */
+    int[] eligibleForSlotIndex(int slotIndex) {
+        return eligible[slotIndex];
+    }
+
+    public int employeeCount() {
+        return employeeCount;
+    }
+
+    /** Share of (required slot, employee) pairs that are eligible, for logging. */
+    public double density() {
+        if (eligible.length == 0 || employeeCount == 0) return 0;
+        long total = 0;
+        for (int[] list : eligible) total += list.length;
+        return (double) total / ((long) eligible.length * employeeCount);
+    }
+}
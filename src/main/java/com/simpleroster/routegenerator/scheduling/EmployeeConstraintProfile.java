@@ -0,0 +1,290 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled, immutable form of an employee's availability and preference strings.
+ * The raw strings on {@link Employee} are parsed once into per-weekday minute-interval tables,
+ * so the GA fitness function can answer "is this employee available?" and "does this employee
+ * prefer this shift?" with a few integer comparisons instead of re-splitting and re-parsing text.
+ * <p>
+ * Profiles are keyed by employee id and JPA version (see {@code EmployeeConstraintProfileCache}).
+ * Times are expressed as minutes since midnight; intervals are half-open {@code [start, end)}.
+ */
+public final class EmployeeConstraintProfile {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeConstraintProfile.class);
+
+    public static final int PREFERENCE_SCORE_PREFERRED = 1;
+    public static final int PREFERENCE_SCORE_NEUTRAL = 0;
+    public static final int PREFERENCE_SCORE_UNPREFERRED = -1; // Represents a hard constraint violation in fitness
+
+    private static final Map<String, DayOfWeek> DAY_ABBREVIATIONS = Map.of(
+            "Mon", DayOfWeek.MONDAY, "Tue", DayOfWeek.TUESDAY, "Wed", DayOfWeek.WEDNESDAY,
+            "Thu", DayOfWeek.THURSDAY, "Fri", DayOfWeek.FRIDAY, "Sat", DayOfWeek.SATURDAY,
+            "Sun", DayOfWeek.SUNDAY
+    );
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmm");
+
+    // Named preference blocks, in minutes since midnight
+    private static final int MORNING_START = 7 * 60;
+    private static final int MORNING_END = 12 * 60;
+    private static final int AFTERNOON_START = 12 * 60;
+    private static final int AFTERNOON_END = 17 * 60;
+    private static final int EVENING_START = 17 * 60;
+    private static final int EVENING_END = 22 * 60;
+
+    private static final int DAYS = 7;
+    private static final int[] NO_INTERVALS = new int[0];
+
+    private final Long employeeId;
+    private final Long version;
+
+    // Indexed by DayOfWeek.ordinal(); each array holds flattened [start0, end0, start1, end1, ...] pairs.
+    private final int[][] availability;
+    private final int[][] unpreferred;
+    private final int[][] preferred;
+    // A day-level rule ("unpreferredDay:Mon", "Preferred:Mon_Any") matches any shift on that weekday.
+    private final boolean[] unpreferredAllDay;
+    private final boolean[] preferredAllDay;
+
+    private EmployeeConstraintProfile(Long employeeId, Long version,
+                                      int[][] availability, int[][] unpreferred, int[][] preferred,
+                                      boolean[] unpreferredAllDay, boolean[] preferredAllDay) {
+        this.employeeId = employeeId;
+        this.version = version;
+        this.availability = availability;
+        this.unpreferred = unpreferred;
+        this.preferred = preferred;
+        this.unpreferredAllDay = unpreferredAllDay;
+        this.preferredAllDay = preferredAllDay;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks if one of the availability windows for the given weekday FULLY CONTAINS the shift.
+     *
+     * @param day         Weekday of the shift.
+     * @param startMinute Shift start, in minutes since midnight.
+     * @param endMinute   Shift end, in minutes since midnight.
+     * @return true if the employee is available for the whole shift.
+     */
+    public boolean isAvailable(DayOfWeek day, int startMinute, int endMinute) {
+        int[] windows = availability[day.ordinal()];
+        for (int i = 0; i < windows.length; i += 2) {
+            if (startMinute >= windows[i] && endMinute <= windows[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calculates the preference score for a shift.
+     * Returns: +1 (Preferred), 0 (Neutral), -1 (Unpreferred/Conflict). An unpreferred match always wins.
+     */
+    public int preferenceScore(DayOfWeek day, int startMinute, int endMinute) {
+        int d = day.ordinal();
+        if (unpreferredAllDay[d] || overlapsAny(unpreferred[d], startMinute, endMinute)) {
+            return PREFERENCE_SCORE_UNPREFERRED;
+        }
+        if (preferredAllDay[d] || overlapsAny(preferred[d], startMinute, endMinute)) {
+            return PREFERENCE_SCORE_PREFERRED;
+        }
+        return PREFERENCE_SCORE_NEUTRAL;
+    }
+
+    // Overlap exists if start of one is before end of the other, AND end of one is after start of the other.
+    private static boolean overlapsAny(int[] intervals, int startMinute, int endMinute) {
+        for (int i = 0; i < intervals.length; i += 2) {
+            if (startMinute < intervals[i + 1] && endMinute > intervals[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Converts a LocalTime to minutes since midnight, the unit used by all profile lookups. */
+    public static int toMinutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * Parses the employee's availability and preference strings into a compiled profile.
+     * Invalid entries are skipped, exactly as the string-based checks used to ignore them.
+     *
+     * @param employee The employee to compile (availability/preferences may be null or blank).
+     * @return The compiled profile.
+     */
+    public static EmployeeConstraintProfile compile(Employee employee) {
+        List<List<Integer>> availability = newDayLists();
+        List<List<Integer>> unpreferred = newDayLists();
+        List<List<Integer>> preferred = newDayLists();
+        boolean[] unpreferredAllDay = new boolean[DAYS];
+        boolean[] preferredAllDay = new boolean[DAYS];
+
+        compileAvailability(employee.getAvailability(), availability);
+        compilePreferences(employee, unpreferred, preferred, unpreferredAllDay, preferredAllDay);
+
+        return new EmployeeConstraintProfile(employee.getId(), employee.getVersion(),
+                toArrays(availability), toArrays(unpreferred), toArrays(preferred),
+                unpreferredAllDay, preferredAllDay);
+    }
+
+    // Format: Comma-separated "Day_StartTime_EndTime" entries, e.g. "Mon_0900_1700,Any_1000_1400".
+    private static void compileAvailability(String availability, List<List<Integer>> target) {
+        if (availability == null || availability.isBlank()) {
+            return; // Not available if nothing specified
+        }
+        for (String slot : availability.split(",")) {
+            slot = slot.trim();
+            if (slot.isEmpty()) continue;
+
+            String[] parts = slot.split("_");
+            if (parts.length != 3) continue;
+
+            try {
+                int start = toMinutes(LocalTime.parse(parts[1], TIME_FORMATTER));
+                int end = toMinutes(LocalTime.parse(parts[2], TIME_FORMATTER));
+                if (end <= start) {
+                    continue; // Skip invalid time range
+                }
+                if ("Any".equalsIgnoreCase(parts[0])) {
+                    for (List<Integer> day : target) addInterval(day, start, end);
+                } else {
+                    DayOfWeek availableDay = DAY_ABBREVIATIONS.get(parts[0]);
+                    if (availableDay == null) continue; // Skip invalid day spec
+                    addInterval(target.get(availableDay.ordinal()), start, end);
+                }
+            } catch (DateTimeParseException e) {
+                // Ignore parsing errors for this slot, try next one
+            }
+        }
+    }
+
+    // Format: Semicolon-separated key-value pairs, e.g. "unpreferred:Mon_Morning;preferredDay:Wed".
+    private static void compilePreferences(Employee employee, List<List<Integer>> unpreferred, List<List<Integer>> preferred,
+                                           boolean[] unpreferredAllDay, boolean[] preferredAllDay) {
+        String preferences = employee.getPreferences();
+        if (preferences == null || preferences.isBlank()) {
+            return;
+        }
+        for (String pref : preferences.split(";")) {
+            pref = pref.trim();
+            if (pref.isEmpty()) continue;
+
+            String[] parts = pref.split(":", 2);
+            if (parts.length != 2) continue;
+            String key = parts[0].trim().toLowerCase();
+            String value = parts[1].trim();
+            if (value.isEmpty()) continue;
+
+            switch (key) {
+                case "unpreferred" -> compileRule(value, unpreferred, unpreferredAllDay, employee);
+                case "preferred" -> compileRule(value, preferred, preferredAllDay, employee);
+                case "unpreferredday" -> {
+                    DayOfWeek day = DAY_ABBREVIATIONS.get(value);
+                    if (day != null) unpreferredAllDay[day.ordinal()] = true;
+                }
+                case "preferredday" -> {
+                    DayOfWeek day = DAY_ABBREVIATIONS.get(value);
+                    if (day != null) preferredAllDay[day.ordinal()] = true;
+                }
+                default -> log.trace("Ignoring unknown preference key '{}' for employee {}", key, employee.getName());
+            }
+        }
+    }
+
+    /**
+     * Compiles a single preference rule.
+     * Rule format: "Day" or "Day_TimeBlock" (e.g., "Mon_Morning", "Tue_Any").
+     * Rules with more than two '_'-separated parts never matched in the string-based check and are skipped here too.
+     */
+    private static void compileRule(String rule, List<List<Integer>> target, boolean[] allDay, Employee employee) {
+        String[] parts = rule.split("_");
+        if (parts.length < 1 || parts.length > 2) {
+            log.debug("Skipping unsupported preference rule '{}' for employee {}", rule, employee.getName());
+            return;
+        }
+        DayOfWeek ruleDay = DAY_ABBREVIATIONS.get(parts[0]);
+        if (ruleDay == null) {
+            return; // Invalid day
+        }
+        String timeRule = (parts.length == 2) ? parts[1].trim() : "Any"; // Default to Any time if only day specified
+        if ("Any".equalsIgnoreCase(timeRule)) {
+            allDay[ruleDay.ordinal()] = true;
+            return;
+        }
+        switch (timeRule.toLowerCase()) {
+            case "morning" -> addInterval(target.get(ruleDay.ordinal()), MORNING_START, MORNING_END);
+            case "afternoon" -> addInterval(target.get(ruleDay.ordinal()), AFTERNOON_START, AFTERNOON_END);
+            case "evening" -> addInterval(target.get(ruleDay.ordinal()), EVENING_START, EVENING_END);
+            default -> { } // Unknown/invalid time rule doesn't match
+        }
+    }
+
+    private static List<List<Integer>> newDayLists() {
+        List<List<Integer>> days = new ArrayList<>(DAYS);
+        for (int i = 0; i < DAYS; i++) days.add(new ArrayList<>());
+        return days;
+    }
+
+    private static void addInterval(List<Integer> day, int start, int end) {
+        day.add(start);
+        day.add(end);
+    }
+
+    private static int[][] toArrays(List<List<Integer>> days) {
+        int[][] result = new int[DAYS][];
+        for (int i = 0; i < DAYS; i++) {
+            List<Integer> day = days.get(i);
+            result[i] = day.isEmpty() ? NO_INTERVALS : day.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return result;
+    }
+
+    /**
+     * Whether both profiles compile to the same availability and preferences, i.e. every shift gets the same
+     * availability and preference score for either employee. Ignores the employee id and version.
+     */
+    public boolean sameConstraints(EmployeeConstraintProfile other) {
+        return Arrays.deepEquals(availability, other.availability)
+                && Arrays.deepEquals(unpreferred, other.unpreferred)
+                && Arrays.deepEquals(preferred, other.preferred)
+                && Arrays.equals(unpreferredAllDay, other.unpreferredAllDay)
+                && Arrays.equals(preferredAllDay, other.preferredAllDay);
+    }
+
+    /** Hash consistent with {@link #sameConstraints}. */
+    public int constraintsHash() {
+        int hash = Arrays.deepHashCode(availability);
+        hash = 31 * hash + Arrays.deepHashCode(unpreferred);
+        hash = 31 * hash + Arrays.deepHashCode(preferred);
+        hash = 31 * hash + Arrays.hashCode(unpreferredAllDay);
+        return 31 * hash + Arrays.hashCode(preferredAllDay);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EmployeeConstraintProfile{employeeId=%d, version=%d, availableDays=%d}",
+                employeeId, version, Arrays.stream(availability).filter(a -> a.length > 0).count());
+    }
+}
@@ -0,0 +1,776 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Employee;
+import com.simpleroster.routegenerator.entity.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Calculates the fitness of a given schedule chromosome based on constraint violations.
+ * Fitness is calculated as the sum of penalties for hard and soft constraint violations.
+ * A lower fitness score indicates a better schedule (0 is optimal).
+ * Penalty weights and thresholds come from an immutable {@link PenaltySettings} snapshot.
+ * <p>
+ * All data needed for evaluation is captured at construction and only read afterwards, so one calculator
+ * can evaluate different chromosomes on several threads at once. Skills are precomputed into {@link SkillIndex}
+ * bitmasks, so worker threads never touch the (lazy) JPA skill collections and the skill check is a bitwise AND.
+ * <p>
+ * When the horizon is decomposed into windows (see {@link HorizonDecomposer}), a calculator scores one window:
+ * each employee's constraints are evaluated starting from the {@link CarryOver} of the previous windows.
+ * <p>
+ * With a {@link CoverageCurve}, coverage (S1) is scored per 15-minute bucket of each (task, day) cell instead of per
+ * required slot: the staffing of a cell is built from its shifts with a difference array and a prefix sum, so a full
+ * evaluation costs O(buckets + seats) and a delta re-evaluates only the cell of the changed seat.
+ */
+public class FitnessCalculator {
+
+    private static final Logger log = LoggerFactory.getLogger(FitnessCalculator.class);
+
+    private final List<Employee> employees;                 // Indexed by dense employee index (the gene value)
+    private final List<EmployeeConstraintProfile> profiles; // Compiled availability/preferences, same indexing
+    private final SlotTable slotTable;
+    private final PenaltySettings penalties;
+    private final CarryOver[] carryOver;     // Per employee: state at the start of the (window's) period
+    private final double minHoursShare;      // Share of the minimum total hours due by the end of the period
+    private final boolean lastWindow;        // Whether the period ends the horizon
+
+    // Per-slot flags for the forbidden succession check (H3), precomputed from the thresholds
+    private final boolean[] endsLate;
+    private final boolean[] startsEarly;
+
+    // Coverage parameters for S1, per required slot (the seats of a slot share one entry)
+    private final int[] minCoverage;
+    private final int[] optCoverage;
+    private final double[] underStaffingPenalty; // Per missing employee
+    private final double[] overStaffingPenalty;  // Per surplus employee
+
+    // Coverage curve for S1 (null without one). A coverage unit is then a (task, day) cell, task index * dayCount + day
+    private final CoverageCurve curve;
+    private final int coverageUnitCount;    // Required slots, or cells with a curve
+    private final int[] slotCell;           // Per required slot: its cell, or -1 if it covers no demand
+    private final int[] slotFirstBucket;    // Per required slot: first bucket it covers
+    private final int[] slotEndBucket;      // Per required slot: exclusive end bucket
+    private final int[][] curveMinimum;     // Per task index: minimum employees per bucket of the period (null: none)
+    private final int[][] curveOptimal;     // Same layout
+    private final double[] bucketUnderStaffingPenalty; // Per task index: per missing employee and bucket
+    private final double[] bucketOverStaffingPenalty;  // Per task index: per surplus employee and bucket
+
+    // Skill bitmasks for the H4 check: distinct task index per slot, required mask per task, skill mask per employee
+    private final int[] slotTaskIndex;
+    private final long[][] taskSkillMask;
+    private final long[][] employeeSkillMask;
+
+    public FitnessCalculator(List<Employee> employees, List<EmployeeConstraintProfile> profiles,
+                             SlotTable slotTable, SkillIndex skillIndex, PenaltySettings penalties) {
+        this(employees, profiles, slotTable, skillIndex, penalties, HorizonWindow.WHOLE);
+    }
+
+    /**
+     * Calculator for one window of a decomposed horizon.
+     *
+     * @param window Carry-over state and share of the horizon's totals of the window; {@link HorizonWindow#WHOLE}
+     *               for an undecomposed horizon.
+     */
+    public FitnessCalculator(List<Employee> employees, List<EmployeeConstraintProfile> profiles,
+                             SlotTable slotTable, SkillIndex skillIndex, PenaltySettings penalties, HorizonWindow window) {
+        this(employees, profiles, slotTable, skillIndex, penalties, window, null);
+    }
+
+    /**
+     * Calculator scoring coverage against a demand curve instead of the coverage of the required slots.
+     *
+     * @param curve Staffing demand of the period, day 0 being the slot table's start date; null to score coverage
+     *              per required slot. Only the demand of tasks that have slots in the table is scored.
+     */
+    public FitnessCalculator(List<Employee> employees, List<EmployeeConstraintProfile> profiles, SlotTable slotTable,
+                             SkillIndex skillIndex, PenaltySettings penalties, HorizonWindow window, CoverageCurve curve) {
+        this.employees = employees;
+        this.profiles = profiles;
+        this.slotTable = slotTable;
+        this.penalties = penalties;
+        this.carryOver = new CarryOver[employees.size()];
+        for (int e = 0; e < carryOver.length; e++) {
+            carryOver[e] = window.carryOver(e);
+        }
+        this.minHoursShare = window.minHoursShare();
+        this.lastWindow = window.last();
+
+        int n = slotTable.size();
+        this.endsLate = new boolean[n];
+        this.startsEarly = new boolean[n];
+        for (int s = 0; s < n; s++) {
+            RequiredShiftSlot slot = slotTable.slot(s);
+            endsLate[s] = slot.endTime().isAfter(penalties.lateShiftThreshold());
+            startsEarly[s] = slot.startTime().isBefore(penalties.earlyShiftThreshold());
+        }
+
+        this.slotTaskIndex = new int[n];
+        List<Task> distinctTasks = new ArrayList<>();
+        Map<Task, Integer> taskIndex = new IdentityHashMap<>();
+        for (int s = 0; s < n; s++) {
+            Task task = slotTable.task(s);
+            slotTaskIndex[s] = (task == null) ? -1 : taskIndex.computeIfAbsent(task, t -> {
+                distinctTasks.add(t);
+                return distinctTasks.size() - 1;
+            });
+        }
+
+        // --- S1 coverage parameters, per required slot ---
+        int slotCount = slotTable.slotCount();
+        this.minCoverage = new int[slotCount];
+        this.optCoverage = new int[slotCount];
+        this.underStaffingPenalty = new double[slotCount];
+        this.overStaffingPenalty = new double[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            RequiredShiftSlot slot = slotTable.slots().get(i);
+            Task task = slot.task();
+            if (task == null) {
+                continue; // Task-less slots are penalized per assignment in employeePenalty
+            }
+            minCoverage[i] = slot.minimumCoverage();
+            optCoverage[i] = slot.optimalCoverage();
+            int taskWeight = task.getPenaltyWeight() != null ? task.getPenaltyWeight() : 10;
+            underStaffingPenalty[i] = taskWeight * (penalties.underStaffingBase() / 10.0);
+            overStaffingPenalty[i] = taskWeight * (penalties.overStaffingBase() / 10.0);
+        }
+
+        // --- S1 coverage curve, per (task, day) cell ---
+        this.curve = curve;
+        int taskCount = distinctTasks.size();
+        int dayCount = slotTable.dayCount();
+        if (curve == null) {
+            this.coverageUnitCount = slotCount;
+            this.slotCell = null;
+            this.slotFirstBucket = null;
+            this.slotEndBucket = null;
+            this.curveMinimum = null;
+            this.curveOptimal = null;
+            this.bucketUnderStaffingPenalty = null;
+            this.bucketOverStaffingPenalty = null;
+        } else {
+            if (curve.dayCount() != dayCount) {
+                log.warn("Coverage curve covers {} days, the slot table {}; days beyond the curve have no demand.",
+                        curve.dayCount(), dayCount);
+            }
+            this.coverageUnitCount = taskCount * dayCount;
+            this.slotCell = new int[slotCount];
+            this.slotFirstBucket = new int[slotCount];
+            this.slotEndBucket = new int[slotCount];
+            for (int s = 0; s < n; s++) {
+                if (slotTable.seat(s) != 0) continue; // Seats of a slot share its cell
+                int i = slotTable.slotIndex(s);
+                int day = slotTable.dayIndex(s);
+                boolean inPeriod = slotTaskIndex[s] >= 0 && day >= 0 && day < dayCount;
+                slotCell[i] = inPeriod ? slotTaskIndex[s] * dayCount + day : -1;
+                slotFirstBucket[i] = CoverageCurve.firstBucket(slotTable.startMinute(s));
+                slotEndBucket[i] = CoverageCurve.endBucket(slotTable.startMinute(s), slotTable.endMinute(s));
+            }
+            this.curveMinimum = new int[taskCount][];
+            this.curveOptimal = new int[taskCount][];
+            this.bucketUnderStaffingPenalty = new double[taskCount];
+            this.bucketOverStaffingPenalty = new double[taskCount];
+            double bucketShare = (double) CoverageCurve.BUCKET_MINUTES / curve.referenceMinutes();
+            for (int t = 0; t < taskCount; t++) {
+                Task task = distinctTasks.get(t);
+                curveMinimum[t] = fitted(curve.minimum(task), dayCount);
+                curveOptimal[t] = fitted(curve.optimal(task), dayCount);
+                int taskWeight = task.getPenaltyWeight() != null ? task.getPenaltyWeight() : 10;
+                bucketUnderStaffingPenalty[t] = taskWeight * (penalties.underStaffingBase() / 10.0) * bucketShare;
+                bucketOverStaffingPenalty[t] = taskWeight * (penalties.overStaffingBase() / 10.0) * bucketShare;
+            }
+        }
+        this.taskSkillMask = new long[distinctTasks.size()][];
+        for (int t = 0; t < distinctTasks.size(); t++) {
+            taskSkillMask[t] = skillIndex.requiredMask(distinctTasks.get(t).getRequiredSkills());
+        }
+        this.employeeSkillMask = new long[employees.size()][];
+        for (int e = 0; e < employees.size(); e++) {
+            employeeSkillMask[e] = skillIndex.mask(employees.get(e).getSkills());
+        }
+    }
+
+    public SlotTable getSlotTable() {
+        return slotTable;
+    }
+
+    public int employeeCount() {
+        return employees.size();
+    }
+
+    /** Number of distinct tasks among the slots. */
+    int taskCount() {
+        return taskSkillMask.length;
+    }
+
+    /** Dense index of the slot's task among the distinct tasks (see {@link #taskCount()}), or -1 for a slot without task. */
+    int taskIndex(int slot) {
+        return slotTaskIndex[slot];
+    }
+
+    /** Whether the employee holds all skills the task (dense task index) requires, regardless of availability. */
+    boolean hasSkillsForTask(int employeeIndex, int task) {
+        return SkillIndex.containsAll(employeeSkillMask[employeeIndex], taskSkillMask[task]);
+    }
+
+    /**
+     * Whether two employees are interchangeable: same skills, compiled availability and preferences, constraint
+     * parameters and carried-over state. Swapping the complete schedules of two interchangeable employees never
+     * changes the fitness.
+     */
+    boolean interchangeable(int a, int b) {
+        Employee first = employees.get(a);
+        Employee second = employees.get(b);
+        return Arrays.equals(employeeSkillMask[a], employeeSkillMask[b])
+                && profiles.get(a).sameConstraints(profiles.get(b))
+                && carryOver[a].equals(carryOver[b])
+                && Objects.equals(first.getMaxConsecutiveDays(), second.getMaxConsecutiveDays())
+                && Objects.equals(first.getMinConsecutiveDays(), second.getMinConsecutiveDays())
+                && Objects.equals(first.getConsecutiveDayPenaltyWeight(), second.getConsecutiveDayPenaltyWeight())
+                && Objects.equals(first.getMinTotalHours(), second.getMinTotalHours())
+                && Objects.equals(first.getMaxTotalHours(), second.getMaxTotalHours())
+                && Objects.equals(first.getTotalHoursPenaltyWeight(), second.getTotalHoursPenaltyWeight())
+                && Objects.equals(first.getMaxWeekends(), second.getMaxWeekends())
+                && Objects.equals(first.getWeekendPenaltyWeight(), second.getWeekendPenaltyWeight());
+    }
+
+    /** The employee's maximum number of consecutive working days, as scored by S2. */
+    int maxConsecutiveDays(int employeeIndex) {
+        Integer max = employees.get(employeeIndex).getMaxConsecutiveDays();
+        return max != null ? max : 999;
+    }
+
+    /** Minutes the employee must work by the end of the period (the window's share of the minimum), as scored by S6. */
+    long minTotalMinutes(int employeeIndex) {
+        Integer minHours = employees.get(employeeIndex).getMinTotalHours();
+        return Math.round((minHours != null ? minHours : 0) * 60 * minHoursShare);
+    }
+
+    /** Minutes above which S6 penalizes the employee's total. */
+    long maxTotalMinutes(int employeeIndex) {
+        Integer maxHours = employees.get(employeeIndex).getMaxTotalHours();
+        return (maxHours != null ? maxHours : Integer.MAX_VALUE / 60) * 60L;
+    }
+
+    /** State the employee starts the period with (see {@link CarryOver}). */
+    CarryOver carryOver(int employeeIndex) {
+        return carryOver[employeeIndex];
+    }
+
+    /** Hash consistent with {@link #interchangeable}, for grouping employees into classes. */
+    int interchangeableHash(int employeeIndex) {
+        Employee employee = employees.get(employeeIndex);
+        return Objects.hash(Arrays.hashCode(employeeSkillMask[employeeIndex]), profiles.get(employeeIndex).constraintsHash(),
+                carryOver[employeeIndex], employee.getMaxConsecutiveDays(), employee.getMinConsecutiveDays(),
+                employee.getConsecutiveDayPenaltyWeight(), employee.getMinTotalHours(), employee.getMaxTotalHours(),
+                employee.getTotalHoursPenaltyWeight(), employee.getMaxWeekends(), employee.getWeekendPenaltyWeight());
+    }
+
+    /**
+     * Whether the employee can work the slot without a per-assignment hard violation:
+     * holds the task's required skills and is available for the whole slot window.
+     */
+    public boolean isEligible(int employeeIndex, int slot) {
+        int task = slotTaskIndex[slot];
+        return task >= 0
+                && SkillIndex.containsAll(employeeSkillMask[employeeIndex], taskSkillMask[task])
+                && profiles.get(employeeIndex).isAvailable(slotTable.dayOfWeek(slot), slotTable.startMinute(slot), slotTable.endMinute(slot));
+    }
+
+    /**
+     * Calculates the total penalty score (fitness) for a given chromosome.
+     * Iterates through required slots (for coverage checks) and employee assignments
+     * (for individual constraints and preferences), summing up penalties.
+     *
+     * @param chromosome The schedule chromosome to evaluate.
+     * @return The total penalty score (fitness). Lower is better.
+     */
+    public double calculateFitness(ScheduleChromosome chromosome) {
+        int[] genes = chromosome.genes();
+        int slotCount = genes.length;
+        int employeeCount = employees.size();
+        double totalPenalty = 0;
+
+        // --- Pre-process: Group slot ordinals by employee (counting sort keeps them chronological) ---
+        int[] assignedCountPerSlot = new int[slotTable.slotCount()]; // Filled seats per required slot
+        int[] offsets = new int[employeeCount + 1];
+        for (int s = 0; s < slotCount; s++) {
+            int e = genes[s];
+            if (e != ScheduleChromosome.UNASSIGNED) {
+                assignedCountPerSlot[slotTable.slotIndex(s)]++;
+                offsets[e + 1]++;
+            } // Unassigned slots handled later by coverage check
+        }
+        for (int e = 0; e < employeeCount; e++) {
+            offsets[e + 1] += offsets[e];
+        }
+        int[] slotsByEmployee = new int[offsets[employeeCount]];
+        int[] cursor = offsets.clone();
+        for (int s = 0; s < slotCount; s++) {
+            int e = genes[s];
+            if (e != ScheduleChromosome.UNASSIGNED) {
+                slotsByEmployee[cursor[e]++] = s;
+            }
+        }
+
+        // --- PENALTY: S1 - Under/Over Staffing (based on Task min/opt coverage, or on the coverage curve) ---
+        if (curve != null) {
+            totalPenalty += curvePenalty(genes, null);
+        } else {
+            for (int i = 0; i < assignedCountPerSlot.length; i++) {
+                totalPenalty += coveragePenalty(i, assignedCountPerSlot[i]);
+            }
+        }
+
+        // --- Check Constraints per Employee ---
+        for (int e = 0; e < employeeCount; e++) {
+            totalPenalty += employeePenaltyOrZero(e, slotsByEmployee, offsets[e], offsets[e + 1]);
+        }
+        return totalPenalty;
+    }
+
+    /**
+     * Where each employee stands after the chromosome's period, re-based onto the window that starts the day after
+     * this calculator's last day. Feeds the {@link HorizonWindow} of the next window of a decomposed horizon.
+     *
+     * @param chromosome The (final) schedule of this period.
+     * @return The carry-over per employee index.
+     */
+    public List<CarryOver> carryOverAfter(ScheduleChromosome chromosome) {
+        int[] genes = chromosome.genes();
+        FitnessState grouping = new FitnessState(employees.size(), slotTable.slotCount()); // Only used for its sorted slot lists
+        for (int s = 0; s < genes.length; s++) {
+            if (genes[s] != ScheduleChromosome.UNASSIGNED) {
+                grouping.append(genes[s], s);
+            }
+        }
+        CarryOver[] endState = new CarryOver[employees.size()];
+        List<CarryOver> result = new ArrayList<>(endState.length);
+        for (int e = 0; e < endState.length; e++) {
+            employeePenalty(e, grouping.employeeSlots[e], 0, grouping.employeeSlotCount[e], endState);
+            result.add(endState[e].shiftedBy(slotTable.dayCount()));
+        }
+        return result;
+    }
+
+    /**
+     * Fully evaluates the chromosome like {@link #calculateFitness} and attaches a {@link FitnessState}
+     * holding the per-employee and per-slot penalty contributions, enabling delta evaluation of later gene changes.
+     *
+     * @param chromosome The schedule chromosome to evaluate.
+     * @return The total penalty score (fitness). Lower is better.
+     */
+    public double evaluateWithState(ScheduleChromosome chromosome) {
+        int[] genes = chromosome.genes();
+        FitnessState state = new FitnessState(employees.size(), coverageUnitCount);
+        for (int s = 0; s < genes.length; s++) {
+            int e = genes[s];
+            if (e != ScheduleChromosome.UNASSIGNED) {
+                int unit = coverageUnit(s);
+                if (unit >= 0) state.assignedCount[unit]++;
+                state.append(e, s); // Ascending slot order keeps each list chronological
+            }
+        }
+        if (curve != null) {
+            curvePenalty(genes, state.slotPenalty);
+        } else {
+            for (int i = 0; i < state.slotPenalty.length; i++) {
+                state.slotPenalty[i] = coveragePenalty(i, state.assignedCount[i]);
+            }
+        }
+        for (int e = 0; e < state.employeeSlotCount.length; e++) {
+            state.employeePenalty[e] = employeePenaltyOrZero(e, state.employeeSlots[e], 0, state.employeeSlotCount[e]);
+        }
+        state.resyncTotal();
+        chromosome.attachState(state);
+        chromosome.setFitness(state.total);
+        return state.total;
+    }
+
+    /**
+     * Computes how the fitness would change if {@code slot} were assigned to {@code newEmployee},
+     * without modifying the chromosome. Only the old assignee, the new assignee and the slot are re-evaluated.
+     *
+     * @param chromosome  A chromosome carrying delta state (see {@link #evaluateWithState}).
+     * @param slot        Slot ordinal.
+     * @param newEmployee New employee index or {@link ScheduleChromosome#UNASSIGNED}.
+     * @return The fitness difference (negative means improvement).
+     */
+    public double deltaForChange(ScheduleChromosome chromosome, int slot, int newEmployee) {
+        FitnessState state = requireState(chromosome);
+        int oldEmployee = chromosome.get(slot);
+        if (oldEmployee == newEmployee) {
+            return 0;
+        }
+        double delta = 0;
+        int unit = coverageUnit(slot);
+        boolean filled = newEmployee != ScheduleChromosome.UNASSIGNED;
+        if (unit >= 0 && filled != (oldEmployee != ScheduleChromosome.UNASSIGNED)) { // Coverage only changes when the seat is filled or emptied
+            double coverage = curve != null
+                    ? cellPenaltyWith(chromosome.genes(), slot, filled)
+                    : coveragePenalty(unit, state.assignedCount[unit] + (filled ? 1 : -1));
+            delta += coverage - state.slotPenalty[unit];
+        }
+        if (oldEmployee != ScheduleChromosome.UNASSIGNED) {
+            int count = state.employeeSlotCount[oldEmployee] - 1;
+            double penalty = employeePenaltyOrZero(oldEmployee, state.withoutSlot(oldEmployee, slot), 0, count);
+            delta += penalty - state.employeePenalty[oldEmployee];
+        }
+        if (newEmployee != ScheduleChromosome.UNASSIGNED) {
+            int count = state.employeeSlotCount[newEmployee] + 1;
+            double penalty = employeePenalty(newEmployee, state.withSlot(newEmployee, slot), 0, count);
+            delta += penalty - state.employeePenalty[newEmployee];
+        }
+        return delta;
+    }
+
+    /**
+     * Assigns {@code newEmployee} to {@code slot} and updates the delta state and cached fitness incrementally.
+     * Falls back to a plain gene write (invalidating the fitness) if the chromosome carries no delta state.
+     *
+     * @return The updated fitness, or -1 if the chromosome has no delta state.
+     */
+    public double applyChange(ScheduleChromosome chromosome, int slot, int newEmployee) {
+        FitnessState state = chromosome.state();
+        if (state == null) {
+            chromosome.set(slot, newEmployee);
+            return -1.0;
+        }
+        int oldEmployee = chromosome.get(slot);
+        if (oldEmployee == newEmployee) {
+            return state.total;
+        }
+        chromosome.assign(slot, newEmployee);
+
+        int unit = coverageUnit(slot);
+        boolean filled = newEmployee != ScheduleChromosome.UNASSIGNED;
+        if (unit >= 0 && filled != (oldEmployee != ScheduleChromosome.UNASSIGNED)) {
+            state.assignedCount[unit] += filled ? 1 : -1;
+            double coverage = curve != null
+                    ? cellPenaltyWith(chromosome.genes(), slot, filled)
+                    : coveragePenalty(unit, state.assignedCount[unit]);
+            state.total += coverage - state.slotPenalty[unit];
+            state.slotPenalty[unit] = coverage;
+        }
+
+        if (oldEmployee != ScheduleChromosome.UNASSIGNED) {
+            state.remove(oldEmployee, slot);
+            updateEmployeePenalty(state, oldEmployee);
+        }
+        if (newEmployee != ScheduleChromosome.UNASSIGNED) {
+            state.insert(newEmployee, slot);
+            updateEmployeePenalty(state, newEmployee);
+        }
+        chromosome.setFitness(state.total);
+        return state.total;
+    }
+
+    /**
+     * Recomputes the chromosome's total from its delta state, removing accumulated floating-point drift.
+     * Call once after a batch of {@link #applyChange} calls (e.g. after mutating an offspring).
+     */
+    public void syncFitness(ScheduleChromosome chromosome) {
+        FitnessState state = chromosome.state();
+        if (state != null) {
+            state.resyncTotal();
+            chromosome.setFitness(state.total);
+        }
+    }
+
+    private void updateEmployeePenalty(FitnessState state, int employee) {
+        double penalty = employeePenaltyOrZero(employee, state.employeeSlots[employee], 0, state.employeeSlotCount[employee]);
+        state.total += penalty - state.employeePenalty[employee];
+        state.employeePenalty[employee] = penalty;
+    }
+
+    private static FitnessState requireState(ScheduleChromosome chromosome) {
+        FitnessState state = chromosome.state();
+        if (state == null) {
+            throw new IllegalStateException("Chromosome has no delta-evaluation state; call evaluateWithState first.");
+        }
+        return state;
+    }
+
+    /**
+     * Coverage penalty of one required slot for the given number of filled seats.
+     *
+     * @param slotIndex     Index of the required slot (see {@link SlotTable#slotIndex}), not a seat ordinal.
+     * @param assignedCount Seats of the slot that have an employee.
+     */
+    double coveragePenalty(int slotIndex, int assignedCount) {
+        if (assignedCount < minCoverage[slotIndex]) {
+            return (minCoverage[slotIndex] - assignedCount) * underStaffingPenalty[slotIndex];
+        } else if (assignedCount > optCoverage[slotIndex]) {
+            return (assignedCount - optCoverage[slotIndex]) * overStaffingPenalty[slotIndex];
+        }
+        return 0; // No penalty if assignedCount >= minCoverage && assignedCount <= optCoverage
+    }
+
+    /**
+     * Coverage (S1) share of the chromosome's fitness: per required slot, or per bucket with a coverage curve.
+     * For diagnostics; {@link #calculateFitness} includes it.
+     */
+    double coveragePenalty(ScheduleChromosome chromosome) {
+        int[] genes = chromosome.genes();
+        if (curve != null) {
+            return curvePenalty(genes, null);
+        }
+        int[] assignedCount = new int[slotTable.slotCount()];
+        for (int s = 0; s < genes.length; s++) {
+            if (genes[s] != ScheduleChromosome.UNASSIGNED) assignedCount[slotTable.slotIndex(s)]++;
+        }
+        double penalty = 0;
+        for (int i = 0; i < assignedCount.length; i++) {
+            penalty += coveragePenalty(i, assignedCount[i]);
+        }
+        return penalty;
+    }
+
+    /** Coverage unit the seat counts towards: its required slot, or its (task, day) cell with a curve; -1 for none. */
+    private int coverageUnit(int ordinal) {
+        int slotIndex = slotTable.slotIndex(ordinal);
+        return curve == null ? slotIndex : slotCell[slotIndex];
+    }
+
+    /**
+     * Curve coverage penalty of all cells. Every filled seat adds +1 at its first and -1 at its end bucket of one
+     * difference array; a prefix sum per cell then yields the staffing level of each bucket.
+     *
+     * @param cellPenalty Receives the penalty per cell, or null.
+     * @return The total curve coverage penalty.
+     */
+    private double curvePenalty(int[] genes, double[] cellPenalty) {
+        int stride = CoverageCurve.BUCKETS_PER_DAY + 1;
+        int[] difference = new int[coverageUnitCount * stride];
+        for (int s = 0; s < genes.length; s++) {
+            if (genes[s] == ScheduleChromosome.UNASSIGNED) continue;
+            int i = slotTable.slotIndex(s);
+            if (slotCell[i] < 0) continue;
+            difference[slotCell[i] * stride + slotFirstBucket[i]]++;
+            difference[slotCell[i] * stride + slotEndBucket[i]]--;
+        }
+        double total = 0;
+        for (int cell = 0; cell < coverageUnitCount; cell++) {
+            double penalty = cellPenalty(cell, difference, cell * stride);
+            if (cellPenalty != null) cellPenalty[cell] = penalty;
+            total += penalty;
+        }
+        return total;
+    }
+
+    /**
+     * Curve coverage penalty of the seat's cell with the seat filled or emptied and all other seats as in the genes.
+     * Rebuilds the cell from the seats of its day, in O(buckets + seats of the day).
+     */
+    private double cellPenaltyWith(int[] genes, int seat, boolean filled) {
+        int cell = slotCell[slotTable.slotIndex(seat)];
+        int day = slotTable.dayIndex(seat);
+        int[] difference = new int[CoverageCurve.BUCKETS_PER_DAY + 1];
+        for (int s = slotTable.dayStart(day); s < slotTable.dayEnd(day); s++) {
+            int i = slotTable.slotIndex(s);
+            boolean assigned = s == seat ? filled : genes[s] != ScheduleChromosome.UNASSIGNED;
+            if (!assigned || slotCell[i] != cell) continue;
+            difference[slotFirstBucket[i]]++;
+            difference[slotEndBucket[i]]--;
+        }
+        return cellPenalty(cell, difference, 0);
+    }
+
+    /** Penalty of one cell whose staffing is given as a difference array starting at {@code offset}. */
+    private double cellPenalty(int cell, int[] difference, int offset) {
+        int dayCount = slotTable.dayCount();
+        int task = cell / dayCount;
+        int[] minimum = curveMinimum[task];
+        int[] optimal = curveOptimal[task];
+        int base = (cell % dayCount) * CoverageCurve.BUCKETS_PER_DAY;
+        long missing = 0; // Employee-buckets below the minimum
+        long surplus = 0; // Employee-buckets above the optimum
+        int staffing = 0;
+        for (int b = 0; b < CoverageCurve.BUCKETS_PER_DAY; b++) {
+            staffing += difference[offset + b];
+            int min = minimum != null ? minimum[base + b] : 0;
+            int opt = optimal != null ? optimal[base + b] : 0;
+            if (staffing < min) {
+                missing += min - staffing;
+            } else if (staffing > opt) {
+                surplus += staffing - opt;
+            }
+        }
+        return missing * bucketUnderStaffingPenalty[task] + surplus * bucketOverStaffingPenalty[task];
+    }
+
+    /** The curve of a task resized to the period's days (zero demand beyond the curve), or null if it has none. */
+    private static int[] fitted(int[] taskCurve, int dayCount) {
+        int length = dayCount * CoverageCurve.BUCKETS_PER_DAY;
+        return taskCurve == null || taskCurve.length == length ? taskCurve : Arrays.copyOf(taskCurve, length);
+    }
+
+    /**
+     * Employee penalty, or 0 for an employee who has not worked at all (no assignments and no carried-over work),
+     * matching the full evaluation where unassigned employees are not penalized.
+     */
+    private double employeePenaltyOrZero(int employeeIndex, int[] slots, int from, int to) {
+        return (from < to || carryOver[employeeIndex].hasWorked()) ? employeePenalty(employeeIndex, slots, from, to) : 0;
+    }
+
+    /**
+     * Penalty for all constraints that concern a single employee.
+     *
+     * @param employeeIndex Dense index of the employee.
+     * @param slots         Array holding the employee's assigned slot ordinals in ascending (chronological) order.
+     * @param from          First position (inclusive) in {@code slots}.
+     * @param to            Last position (exclusive) in {@code slots}.
+     * @return The summed penalty for this employee.
+     */
+    double employeePenalty(int employeeIndex, int[] slots, int from, int to) {
+        return employeePenalty(employeeIndex, slots, from, to, null);
+    }
+
+    /**
+     * @param endState If not null, receives the employee's state after the last slot at {@code endState[employeeIndex]}.
+     */
+    private double employeePenalty(int employeeIndex, int[] slots, int from, int to, CarryOver[] endState) {
+        Employee employee = employees.get(employeeIndex);
+        EmployeeConstraintProfile profile = profiles.get(employeeIndex);
+        double totalPenalty = 0;
+
+        // Walk state, starting from the carried-over work of earlier windows (nothing for an undecomposed horizon)
+        CarryOver start = carryOver[employeeIndex];
+        boolean previousEndsLate = start.lastShiftEndsLate();
+        int lastDayShiftCount = 0;
+        int consecutiveWorkDays = start.consecutiveWorkDays();
+        int lastWorkDay = start.lastWorkDay();
+        long totalMinutes = start.totalMinutes();
+        int weekendsWorked = start.weekendsWorked();
+        boolean workedThisWeekend = start.workedThisWeekend();
+
+        for (int i = from; i < to; i++) {
+            int slot = slots[i];
+            int currentDay = slotTable.dayIndex(slot);
+            int currentStart = slotTable.startMinute(slot);
+            int currentEnd = slotTable.endMinute(slot);
+            Task currentTask = slotTable.task(slot);
+
+            if (currentTask == null) {
+                log.error("Fitness Error: Task is null for required slot {} assigned to {}", slotTable.slot(slot), employee.getName());
+                totalPenalty += penalties.hardConstraint() * 10;
+                continue;
+            }
+
+            // --- PENALTY: H1 - Single Assignment Per Day ---
+            int dayShiftCount = (currentDay == lastWorkDay) ? lastDayShiftCount + 1 : 1;
+            lastDayShiftCount = dayShiftCount;
+            if (dayShiftCount > 1) {
+                totalPenalty += penalties.hardConstraint();
+                log.trace("Fitness Penalty (H1): {} has {} shifts on day {}", employee.getName(), dayShiftCount, currentDay);
+            }
+
+            // --- PENALTY: H4 - Missing Required Skill ---
+            if (!SkillIndex.containsAll(employeeSkillMask[employeeIndex], taskSkillMask[slotTaskIndex[slot]])) {
+                totalPenalty += penalties.hardConstraint();
+                log.trace("Fitness Penalty (H4): {} missing skills for task '{}'", employee.getName(), currentTask.getName());
+            }
+
+            // --- PENALTY: Employee Availability Check ---
+            if (!profile.isAvailable(slotTable.dayOfWeek(slot), currentStart, currentEnd)) {
+                totalPenalty += penalties.hardConstraint();
+                log.trace("Fitness Penalty (Avail): {} not available for slot {}", employee.getName(), slot);
+            }
+
+            // --- PENALTY: H3 - Forbidden Successions (Late -> Early) ---
+            if (lastWorkDay == currentDay - 1 && previousEndsLate && startsEarly[slot]) {
+                totalPenalty += penalties.forbiddenSuccession();
+                log.trace("Fitness Penalty (H3): {} has forbidden succession: day {} -> slot {}", employee.getName(), lastWorkDay, slot);
+            }
+
+            // --- SOFT CONSTRAINT CHECKS using Employee settings ---
+            totalMinutes += currentEnd - currentStart;
+
+            // Update Consecutive Days Tracking
+            if (lastWorkDay != Integer.MIN_VALUE) {
+                int daysBetween = currentDay - lastWorkDay;
+                if (daysBetween == 1) {
+                    consecutiveWorkDays++;
+                } else if (daysBetween > 1) {
+                    consecutiveWorkDays = 1; // Reset workdays count
+                }
+                // If daysBetween == 0, it's the same day (handled by H1 check)
+            } else {
+                consecutiveWorkDays = 1; // First assignment in the list
+            }
+            lastWorkDay = currentDay;
+
+            // --- PENALTY: S2 - Max Consecutive Working Days ---
+            int maxConsecutive = employee.getMaxConsecutiveDays() != null ? employee.getMaxConsecutiveDays() : 999;
+            if (consecutiveWorkDays > maxConsecutive) {
+                int weight = employee.getConsecutiveDayPenaltyWeight() != null ? employee.getConsecutiveDayPenaltyWeight() : 5;
+                totalPenalty += (consecutiveWorkDays - maxConsecutive) * weight;
+            }
+
+            // --- Weekend Tracking --- S6 Part ---
+            if (slotTable.isWeekend(slot)) {
+                if (!workedThisWeekend) {
+                    // Start of a weekend working block
+                    workedThisWeekend = true;
+                    weekendsWorked++;
+                    // TODO: Implement consecutive weekend check (requires history or more complex tracking)
+                }
+            } else {
+                workedThisWeekend = false; // Reset weekend flag if it's not Saturday/Sunday
+            }
+
+            // --- PENALTY: S5 - Preferences (Unpreferred/Preferred) ---
+            int prefScore = profile.preferenceScore(slotTable.dayOfWeek(slot), currentStart, currentEnd);
+            if (prefScore == EmployeeConstraintProfile.PREFERENCE_SCORE_UNPREFERRED) {
+                int weight = employee.getTotalHoursPenaltyWeight() != null ? employee.getTotalHoursPenaltyWeight() : 2;
+                totalPenalty += weight * 10.0; // High penalty for unpreferred
+            } else if (prefScore == EmployeeConstraintProfile.PREFERENCE_SCORE_NEUTRAL) {
+                totalPenalty += 1; // Small penalty to encourage preferred
+            }
+
+            previousEndsLate = endsLate[slot];
+        }
+
+        // --- Final Checks for the Employee (after iterating all their shifts) ---
+        // Add penalty if the last block of work didn't meet min consecutive days
+        // (in an earlier window of a decomposed horizon the block may still continue in the next window)
+        if (consecutiveWorkDays > 0 && lastWindow) {
+            int minConsecutive = employee.getMinConsecutiveDays() != null ? employee.getMinConsecutiveDays() : 0;
+            if (minConsecutive > 0 && consecutiveWorkDays < minConsecutive) {
+                int weight = employee.getConsecutiveDayPenaltyWeight() != null ? employee.getConsecutiveDayPenaltyWeight() : 5;
+                totalPenalty += (minConsecutive - consecutiveWorkDays) * weight * 2.0; // Heavier penalty for min violation
+            }
+        }
+        // TODO: Implement min consecutive FREE days check. Requires tracking free day blocks explicitly.
+
+        // --- PENALTY: S6 - Min/Max Total Hours ---
+        // In a window of a decomposed horizon only the window's share of the minimum is due so far
+        long minTotal = minTotalMinutes(employeeIndex);
+        long maxTotal = maxTotalMinutes(employeeIndex);
+        int weightHours = employee.getTotalHoursPenaltyWeight() != null ? employee.getTotalHoursPenaltyWeight() : 2;
+        if (totalMinutes < minTotal) {
+            totalPenalty += (minTotal - totalMinutes) * weightHours * 0.1; // Penalty proportional to deficit
+        }
+        if (totalMinutes > maxTotal) {
+            totalPenalty += (totalMinutes - maxTotal) * weightHours * 0.1; // Penalty proportional to excess
+        }
+
+        // --- PENALTY: S6 - Max Weekends Worked ---
+        int maxWW = employee.getMaxWeekends() != null ? employee.getMaxWeekends() : 99;
+        if (weekendsWorked > maxWW) {
+            int weightWeekend = employee.getWeekendPenaltyWeight() != null ? employee.getWeekendPenaltyWeight() : 10;
+            totalPenalty += (weekendsWorked - maxWW) * weightWeekend;
+        }
+        if (endState != null) {
+            endState[employeeIndex] = new CarryOver(lastWorkDay, previousEndsLate, consecutiveWorkDays, totalMinutes,
+                    weekendsWorked, workedThisWeekend);
+        }
+        return totalPenalty;
+    }
+}
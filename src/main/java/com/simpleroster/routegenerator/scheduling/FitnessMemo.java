@@ -0,0 +1,57 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded least-recently-used map from chromosome fingerprints (see {@link ScheduleChromosome#fingerprint()})
+ * to fitness. Lets the GA skip evaluating offspring that are identical to chromosomes it has scored recently,
+ * which becomes the common case once the population converges.
+ * <p>
+ * Not thread-safe: each island owns one and only consults it from the thread evolving the island.
+ */
+final class FitnessMemo {
+
+    private final Map<Long, Double> entries;
+    private long lookups;
+    private long hits;
+
+    /** @param capacity Maximum number of fingerprints kept; the least recently used one is evicted beyond that. */
+    FitnessMemo(int capacity) {
+        this.entries = new LinkedHashMap<>(Math.min(capacity, 1 << 12), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Double> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** Cached fitness for the fingerprint, or a negative value if it is not cached. Counts towards the hit rate. */
+    double get(long fingerprint) {
+        lookups++;
+        Double fitness = entries.get(fingerprint);
+        if (fitness == null) {
+            return -1.0;
+        }
+        hits++;
+        return fitness;
+    }
+
+    /** Counts the last missed lookup as a hit after all, e.g. when an identical chromosome of the same batch answers it. */
+    void countHit() {
+        hits++;
+    }
+
+    /** Records the fitness of an evaluated chromosome (and marks it most recently used). */
+    void put(long fingerprint, double fitness) {
+        entries.put(fingerprint, fitness);
+    }
+
+    long lookups() {
+        return lookups;
+    }
+
+    long hits() {
+        return hits;
+    }
+}
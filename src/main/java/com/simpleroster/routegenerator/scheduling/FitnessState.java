@@ -0,0 +1,133 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Per-chromosome bookkeeping for delta (incremental) fitness evaluation.
+ * Keeps the penalty contribution of every employee and every coverage unit, the filled seats per coverage unit,
+ * and each employee's assigned slot ordinals in ascending (chronological) order.
+ * When a gene changes, {@link FitnessCalculator#applyChange} only recomputes the old and new
+ * assignee and the affected slot instead of re-evaluating the whole chromosome.
+ * <p>
+ * A state belongs to exactly one chromosome and is not thread-safe.
+ */
+final class FitnessState {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    final double[] employeePenalty;
+    final double[] slotPenalty;    // Coverage penalty per coverage unit: required slot (see SlotTable#slotIndex) or curve cell
+    final int[] assignedCount;     // Filled seats per coverage unit
+    final int[][] employeeSlots;   // Sorted slot ordinals per employee (only the first employeeSlotCount[e] entries are valid)
+    final int[] employeeSlotCount;
+    double total;
+
+    private int[] scratch; // Reused buffer for "what-if" evaluations, never copied
+
+    FitnessState(int employeeCount, int slotCount) {
+        this.employeePenalty = new double[employeeCount];
+        this.slotPenalty = new double[slotCount];
+        this.assignedCount = new int[slotCount];
+        this.employeeSlots = new int[employeeCount][];
+        this.employeeSlotCount = new int[employeeCount];
+        for (int e = 0; e < employeeCount; e++) {
+            employeeSlots[e] = new int[INITIAL_CAPACITY];
+        }
+    }
+
+    private FitnessState(FitnessState other) {
+        this.employeePenalty = other.employeePenalty.clone();
+        this.slotPenalty = other.slotPenalty.clone();
+        this.assignedCount = other.assignedCount.clone();
+        this.employeeSlotCount = other.employeeSlotCount.clone();
+        this.employeeSlots = new int[other.employeeSlots.length][];
+        for (int e = 0; e < employeeSlots.length; e++) {
+            employeeSlots[e] = Arrays.copyOf(other.employeeSlots[e], Math.max(other.employeeSlotCount[e], INITIAL_CAPACITY));
+        }
+        this.total = other.total;
+    }
+
+    FitnessState copy() {
+        return new FitnessState(this);
+    }
+
+    /** Appends a slot to the employee's list. Only valid while slots are added in ascending order. */
+    void append(int employee, int slot) {
+        ensureCapacity(employee, employeeSlotCount[employee] + 1);
+        employeeSlots[employee][employeeSlotCount[employee]++] = slot;
+    }
+
+    /** Inserts a slot into the employee's sorted list. */
+    void insert(int employee, int slot) {
+        int count = employeeSlotCount[employee];
+        ensureCapacity(employee, count + 1);
+        int[] slots = employeeSlots[employee];
+        int pos = insertionPoint(slots, count, slot);
+        System.arraycopy(slots, pos, slots, pos + 1, count - pos);
+        slots[pos] = slot;
+        employeeSlotCount[employee] = count + 1;
+    }
+
+    /** Removes a slot from the employee's sorted list (no-op if absent). */
+    void remove(int employee, int slot) {
+        int count = employeeSlotCount[employee];
+        int[] slots = employeeSlots[employee];
+        int pos = Arrays.binarySearch(slots, 0, count, slot);
+        if (pos < 0) return;
+        System.arraycopy(slots, pos + 1, slots, pos, count - pos - 1);
+        employeeSlotCount[employee] = count - 1;
+    }
+
+    /** Copies the employee's sorted list into the scratch buffer with {@code slot} inserted. Returns the buffer. */
+    int[] withSlot(int employee, int slot) {
+        int count = employeeSlotCount[employee];
+        int[] buffer = scratch(count + 1);
+        int[] slots = employeeSlots[employee];
+        int pos = insertionPoint(slots, count, slot);
+        System.arraycopy(slots, 0, buffer, 0, pos);
+        buffer[pos] = slot;
+        System.arraycopy(slots, pos, buffer, pos + 1, count - pos);
+        return buffer;
+    }
+
+    /** Copies the employee's sorted list into the scratch buffer with {@code slot} removed. Returns the buffer. */
+    int[] withoutSlot(int employee, int slot) {
+        int count = employeeSlotCount[employee];
+        int[] buffer = scratch(count);
+        int[] slots = employeeSlots[employee];
+        int pos = Arrays.binarySearch(slots, 0, count, slot);
+        if (pos < 0) {
+            System.arraycopy(slots, 0, buffer, 0, count);
+        } else {
+            System.arraycopy(slots, 0, buffer, 0, pos);
+            System.arraycopy(slots, pos + 1, buffer, pos, count - pos - 1);
+        }
+        return buffer;
+    }
+
+    /** Recomputes the running total from the per-employee and per-slot contributions, discarding rounding drift. */
+    void resyncTotal() {
+        double sum = 0;
+        for (double p : slotPenalty) sum += p;
+        for (double p : employeePenalty) sum += p;
+        total = sum;
+    }
+
+    private static int insertionPoint(int[] slots, int count, int slot) {
+        int pos = Arrays.binarySearch(slots, 0, count, slot);
+        return pos < 0 ? -pos - 1 : pos;
+    }
+
+    private void ensureCapacity(int employee, int required) {
+        if (employeeSlots[employee].length < required) {
+            employeeSlots[employee] = Arrays.copyOf(employeeSlots[employee], Math.max(required, employeeSlots[employee].length * 2));
+        }
+    }
+
+    private int[] scratch(int required) {
+        if (scratch == null || scratch.length < required) {
+            scratch = new int[Math.max(required, 16)];
+        }
+        return scratch;
+    }
+}
@@ -0,0 +1,45 @@
+package com.simpleroster.routegenerator.scheduling;
+
+/**
+ * Immutable snapshot of the GA configuration for one generation run.
+ * Loaded by GaRosterSolver from the configuration settings at the start of each request, so concurrent
+ * runs (and the worker threads evaluating a population) never observe settings changing underneath them.
+ *
+ * @param populationSize  Number of candidate schedules (chromosomes) in each generation.
+ * @param maxGenerations  Maximum number of generations the GA will run.
+ * @param mutationRate    Probability (0.0 to 1.0) of a gene (assignment) being randomly changed during mutation.
+ * @param crossoverRate   Probability (0.0 to 1.0) that selected parents exchange genetic material.
+ * @param crossoverOperator How parents exchange genetic material.
+ * @param tournamentSize  Number of chromosomes competing in tournament selection.
+ * @param outsideEligibleRate Probability (0.0 to 1.0) of picking any employee instead of one eligible for the slot
+ *                        when creating or mutating a gene; keeps some exploration outside the eligibility index.
+ * @param greedySeedFraction Fraction (0.0 to 1.0) of the initial population built by the randomized greedy seeder.
+ * @param deltaEvaluation Whether mutated chromosomes are re-scored incrementally instead of in full.
+ * @param repair          Whether offspring are repaired (see {@link RepairOperator}) after mutation.
+ * @param symmetryReduction Whether interchangeable employees are searched as classes (see {@link SymmetryReducer});
+ *                        offspring are brought into canonical form after repair.
+ * @param fitnessCacheSize Chromosome fingerprints whose fitness each population remembers (see {@link FitnessMemo}),
+ *                        so identical offspring are not re-evaluated; 0 disables the cache.
+ * @param parallelism     Worker threads for population evaluation; 1 evaluates sequentially on the request thread.
+ * @param islands         Island-model configuration (a single island runs the classic panmictic GA).
+ * @param localSearch     Memetic local-search configuration.
+ * @param termination     Early-termination criteria.
+ * @param adaptiveRates   Diversity-driven mutation and crossover rates (replace the fixed rates when enabled).
+ */
+public record GaSettings(int populationSize,
+                         int maxGenerations,
+                         double mutationRate,
+                         double crossoverRate,
+                         CrossoverOperator crossoverOperator,
+                         int tournamentSize,
+                         double outsideEligibleRate,
+                         double greedySeedFraction,
+                         boolean deltaEvaluation,
+                         boolean repair,
+                         boolean symmetryReduction,
+                         int fitnessCacheSize,
+                         int parallelism,
+                         IslandSettings islands,
+                         LocalSearchSettings localSearch,
+                         TerminationSettings termination,
+                         AdaptiveRateSettings adaptiveRates) {}
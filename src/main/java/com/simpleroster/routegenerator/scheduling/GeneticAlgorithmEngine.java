@@ -0,0 +1,705 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Manages the execution of the Genetic Algorithm to generate schedules.
+ * Handles population initialization, selection, crossover, mutation, and evaluation
+ * over multiple generations to find a near-optimal schedule.
+ * <p>
+ * Optionally runs an island model (see {@link IslandSettings}): several sub-populations evolve
+ * independently on the evaluation pool and exchange their best chromosomes every few generations.
+ */
+public class GeneticAlgorithmEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneticAlgorithmEngine.class);
+
+    private final SlotTable slotTable;       // The "problem" definition
+    private final int employeeCount;         // Genes hold dense employee indices in [0, employeeCount)
+    private final FitnessCalculator fitnessCalculator;
+    private final GaSettings settings;
+    private final CrossoverOperator crossoverOperator;
+    private final boolean deltaEvaluation;   // Evaluate mutations incrementally instead of re-scoring whole chromosomes
+    private final ForkJoinPool evaluationPool; // Null evaluates sequentially on the calling thread
+    private final IslandSettings islandSettings;
+    private final EligibilityIndex eligibility; // Employees with the skills and availability for each slot
+    private final double outsideEligibleRate;
+    private final GreedySeeder greedySeeder;
+    private final LocalSearchSettings localSearchSettings;
+    private final LocalSearch localSearch;
+    private final RepairOperator repairOperator; // Null when repair is disabled
+    private final SymmetryReducer symmetryReducer; // Null when disabled or no employees are interchangeable
+    private final int fitnessCacheSize;      // 0 disables the per-island fitness memo
+    private final TerminationSettings terminationSettings;
+    private final AdaptiveRateSettings adaptiveRates;
+    private final long seed;
+    private final SplittableRandom random;   // Root stream: only used on the calling thread, islands get split-off streams
+
+    private Deadline deadline = Deadline.NONE; // Of the current run; set before any island starts
+
+    // Outcome of the last run, for the run metrics
+    private int generationsRun;
+    private TerminationReason terminationReason;
+    private long fitnessCacheLookups;
+    private long fitnessCacheHits;
+
+    /**
+     * @param fitnessCalculator Read-only fitness function, shared by all evaluation threads.
+     * @param settings          GA parameters for this run.
+     * @param evaluationPool    Pool for parallel population evaluation, or {@code null} for sequential evaluation.
+     *                          Each chromosome is scored independently, so both modes give identical results.
+     *                          With several islands the pool runs the islands instead.
+     * @param seed              Seed for all random decisions of the run; the same seed and inputs replay the same run.
+     */
+    public GeneticAlgorithmEngine(FitnessCalculator fitnessCalculator, GaSettings settings,
+                                  ForkJoinPool evaluationPool, long seed) {
+        this.fitnessCalculator = fitnessCalculator;
+        this.slotTable = fitnessCalculator.getSlotTable();
+        this.employeeCount = fitnessCalculator.employeeCount();
+        this.settings = settings;
+        this.crossoverOperator = settings.crossoverOperator();
+        this.deltaEvaluation = settings.deltaEvaluation();
+        this.evaluationPool = evaluationPool;
+        this.islandSettings = settings.islands();
+        this.eligibility = new EligibilityIndex(fitnessCalculator);
+        this.outsideEligibleRate = settings.outsideEligibleRate();
+        this.greedySeeder = new GreedySeeder(fitnessCalculator, eligibility);
+        this.localSearchSettings = settings.localSearch();
+        this.localSearch = new LocalSearch(fitnessCalculator, eligibility);
+        this.repairOperator = settings.repair() ? new RepairOperator(fitnessCalculator, eligibility) : null;
+        this.symmetryReducer = settings.symmetryReduction() ? SymmetryReducer.create(fitnessCalculator) : null;
+        this.fitnessCacheSize = Math.max(0, settings.fitnessCacheSize());
+        this.terminationSettings = settings.termination();
+        this.adaptiveRates = settings.adaptiveRates();
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Number of generations the last {@link #run()} completed. */
+    public int getGenerationsRun() {
+        return generationsRun;
+    }
+
+    /** Criterion that ended the last {@link #run()}. */
+    public TerminationReason getTerminationReason() {
+        return terminationReason;
+    }
+
+    /** Number of evaluations the last {@link #run()} looked up in the fitness cache (0 when the cache is disabled). */
+    public long getFitnessCacheLookups() {
+        return fitnessCacheLookups;
+    }
+
+    /** Number of evaluations the last {@link #run()} skipped because the fitness cache already knew the chromosome. */
+    public long getFitnessCacheHits() {
+        return fitnessCacheHits;
+    }
+
+    /** Runs the genetic algorithm without a time limit (see {@link #run(Deadline)}). */
+    public ScheduleChromosome run() {
+        return run(Deadline.NONE);
+    }
+
+    /**
+     * Runs the genetic algorithm for the configured number of generations.
+     * Initializes population, then iteratively applies selection, crossover,
+     * and mutation to evolve the population towards better fitness scores.
+     * Uses elitism to preserve the best individual from each generation.
+     * In island mode every island holds {@code populationSize} chromosomes.
+     * Stops early when one of the configured {@link TerminationSettings} criteria fires.
+     * The deadline is checked between generations and inside local search; once it has passed
+     * the best chromosome found so far is returned (anytime mode).
+     *
+     * @param deadline Wall-clock deadline of the run, or {@link Deadline#NONE}.
+     * @return The best ScheduleChromosome (lowest fitness) found after all generations.
+     */
+    public ScheduleChromosome run(Deadline deadline) {
+        this.deadline = deadline;
+        int popSize = settings.populationSize();
+        int maxGen = settings.maxGenerations();
+        double crossRate = settings.crossoverRate();
+        double mutRate = settings.mutationRate();
+        int tourneySize = settings.tournamentSize();
+        log.info("GA Run: seed {}, eligible (slot, employee) pairs: {}%, time budget: {}", seed,
+                String.format("%.1f", eligibility.density() * 100), deadline.isSet() ? deadline.budgetMillis() + " ms" : "none");
+        if (islandSettings.enabled()) {
+            return runIslands(popSize, maxGen, crossRate, mutRate, tourneySize);
+        }
+        Island island = new Island(0, random.split(), evaluationPool);
+        log.info("GA Run: Initializing population (Size: {})...", popSize);
+        island.initialize(popSize);
+        log.info("GA Run: Initial population evaluation complete. Best initial fitness: {}", island.bestFitnessOrNA());
+        TerminationReason reason = island.evolve(1, maxGen, maxGen, crossRate, mutRate, tourneySize,
+                new TerminationMonitor(terminationSettings));
+        generationsRun = island.generationsCompleted;
+        terminationReason = reason != null ? reason : TerminationReason.MAX_GENERATIONS;
+        recordCacheStats(List.of(island));
+        ScheduleChromosome best = polish(island.best(), island.random);
+        log.info("GA Run Finished after {}/{} generations ({}). Final Best Fitness: {}",
+                generationsRun, maxGen, terminationReason, best.getFitness());
+        return best;
+    }
+
+    /**
+     * Island model: evolves the islands in epochs of {@code migrationInterval} generations. Each epoch runs the
+     * islands concurrently (each evaluating its own population sequentially), then migrates the best chromosomes
+     * between islands on the calling thread before the next epoch starts.
+     */
+    private ScheduleChromosome runIslands(int popSize, int maxGen, double crossRate, double mutRate, int tourneySize) {
+        int islandCount = islandSettings.islandCount();
+        log.info("GA Run: Initializing {} islands (Size: {} each, migration every {} generations, {} migrants, {} topology)...",
+                islandCount, popSize, islandSettings.migrationInterval(), islandSettings.migrantCount(), islandSettings.topology());
+        List<Island> islands = new ArrayList<>(islandCount);
+        for (int i = 0; i < islandCount; i++) {
+            islands.add(new Island(i, random.split(), null)); // Split in island order, so streams are reproducible
+        }
+        runOnIslands(islands, island -> {
+            island.initialize(popSize);
+            return null;
+        });
+
+        // Stagnation and diversity are judged on the archipelago as a whole, once per epoch
+        TerminationMonitor monitor = new TerminationMonitor(terminationSettings);
+        TerminationReason reason = null;
+        int interval = Math.max(1, islandSettings.migrationInterval());
+        int generation = 1;
+        generationsRun = 0;
+        while (generation <= maxGen && reason == null) {
+            int from = generation;
+            int to = (int) Math.min(maxGen, (long) generation + interval - 1);
+            reason = runOnIslands(islands, island -> island.evolve(from, to, maxGen, crossRate, mutRate, tourneySize, null));
+            for (Island island : islands) {
+                generationsRun = Math.max(generationsRun, island.generationsCompleted);
+            }
+            double bestFitness = bestOf(islands).getFitness();
+            log.debug("GA Islands: generations {}-{} completed. Best Fitness: {}", from, to, bestFitness);
+            if (reason == null) {
+                reason = monitor.check(to, bestFitness, () -> islands.stream().mapToDouble(Island::diversity).average().orElse(0));
+            }
+            if (reason == null && to < maxGen) {
+                migrate(islands);
+            }
+            generation = to + 1;
+        }
+        terminationReason = reason != null ? reason : TerminationReason.MAX_GENERATIONS;
+        recordCacheStats(islands);
+
+        ScheduleChromosome best = polish(bestOf(islands), random);
+        log.info("GA Run Finished after {}/{} generations ({}). Final Best Fitness: {}",
+                generationsRun, maxGen, terminationReason, best.getFitness());
+        return best;
+    }
+
+    /** Work performed on one island; returns the termination criterion the island hit, or null. */
+    private interface IslandStep {
+        TerminationReason apply(Island island);
+    }
+
+    /**
+     * Runs the step on every island, concurrently if a pool is available.
+     * Returns the first non-null termination reason in island order (so the outcome is deterministic), or null.
+     */
+    private TerminationReason runOnIslands(List<Island> islands, IslandStep step) {
+        TerminationReason result = null;
+        if (evaluationPool == null) {
+            for (Island island : islands) {
+                TerminationReason reason = step.apply(island);
+                if (result == null) result = reason;
+            }
+            return result;
+        }
+        List<Callable<TerminationReason>> tasks = new ArrayList<>(islands.size());
+        for (Island island : islands) {
+            tasks.add(() -> step.apply(island));
+        }
+        for (Future<TerminationReason> future : evaluationPool.invokeAll(tasks)) {
+            try {
+                TerminationReason reason = future.get();
+                if (result == null) result = reason;
+            } catch (Exception e) {
+                throw new IllegalStateException("Island evolution failed", e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sends copies of each island's best chromosomes to its destination island, replacing the destination's worst.
+     * All emigrants are selected before any island is modified, so the order of islands does not matter.
+     */
+    private void migrate(List<Island> islands) {
+        int islandCount = islands.size();
+        int migrants = Math.min(islandSettings.migrantCount(), islands.get(0).population.size() - 1); // Never replace the elite
+        if (migrants <= 0) return;
+
+        List<List<ScheduleChromosome>> emigrants = new ArrayList<>(islandCount);
+        for (Island island : islands) {
+            emigrants.add(island.bestCopies(migrants));
+        }
+        for (int i = 0; i < islandCount; i++) {
+            int destination;
+            if (islandSettings.topology() == IslandSettings.Topology.RANDOM) {
+                destination = random.nextInt(islandCount - 1);
+                if (destination >= i) destination++; // Any island except the sender
+            } else {
+                destination = (i + 1) % islandCount;
+            }
+            islands.get(destination).replaceWorst(emigrants.get(i));
+        }
+        log.trace("GA Islands: migrated {} chromosomes per island.", migrants);
+    }
+
+    private static ScheduleChromosome bestOf(List<Island> islands) {
+        ScheduleChromosome best = null;
+        for (Island island : islands) {
+            ScheduleChromosome candidate = island.best();
+            if (best == null || candidate.getFitness() < best.getFitness()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /** Sums the fitness cache counters of the islands into the run totals. */
+    private void recordCacheStats(List<Island> islands) {
+        fitnessCacheLookups = 0;
+        fitnessCacheHits = 0;
+        for (Island island : islands) {
+            if (island.memo != null) {
+                fitnessCacheLookups += island.memo.lookups();
+                fitnessCacheHits += island.memo.hits();
+            }
+        }
+        if (fitnessCacheLookups > 0) {
+            log.info("GA Run: fitness cache answered {} of {} evaluations ({}%).", fitnessCacheHits, fitnessCacheLookups,
+                    String.format("%.1f", 100.0 * fitnessCacheHits / fitnessCacheLookups));
+        }
+    }
+
+    /** Final local-search pass on the result (with ten times the regular move budget), unless time has run out. */
+    private ScheduleChromosome polish(ScheduleChromosome best, SplittableRandom random) {
+        if (!localSearchSettings.enabled() || best.getFitness() == 0.0 || deadline.expired()) {
+            return best;
+        }
+        double before = best.getFitness();
+        int moves = localSearch.improve(best, random, localSearchSettings.moveBudget() * 10, deadline);
+        log.info("GA Run: final local search applied {} moves, fitness {} -> {}", moves, before, best.getFitness());
+        return best;
+    }
+
+    private void evaluate(ScheduleChromosome chromosome) {
+        if (deltaEvaluation) {
+            fitnessCalculator.evaluateWithState(chromosome); // Also prepares the state for delta mutation
+        } else {
+            chromosome.setFitness(fitnessCalculator.calculateFitness(chromosome));
+        }
+    }
+
+    /**
+     * One population together with its own random stream. The single-population mode runs exactly one island;
+     * in island mode each island is only ever evolved by one thread at a time, so its stream needs no synchronization.
+     */
+    private final class Island {
+        private final int id;
+        private final SplittableRandom random;
+        private final ForkJoinPool pool; // Evaluation pool, only used when this is the single population
+        private final FitnessMemo memo;  // Null when the fitness cache is disabled
+        private List<ScheduleChromosome> population = new ArrayList<>();
+        private int generationsCompleted;
+
+        Island(int id, SplittableRandom random, ForkJoinPool pool) {
+            this.id = id;
+            this.random = random;
+            this.pool = pool;
+            this.memo = fitnessCacheSize > 0 ? new FitnessMemo(fitnessCacheSize) : null;
+        }
+
+        /**
+         * Creates and evaluates the initial population: a configured fraction from the greedy seeder,
+         * the rest with random assignments.
+         */
+        void initialize(int popSize) {
+            int greedyCount = (int) Math.round(popSize * Math.min(1.0, Math.max(0.0, settings.greedySeedFraction())));
+            log.debug("Initializing population (size: {}, greedy: {})...", popSize, greedyCount);
+            population = new ArrayList<>(popSize);
+            for (int i = 0; i < greedyCount; i++) {
+                ScheduleChromosome seeded = greedySeeder.build(random); // Already evaluated
+                if (!deltaEvaluation) {
+                    seeded.attachState(null); // Not needed without delta mutation
+                }
+                population.add(seeded);
+            }
+            for (int i = greedyCount; i < popSize; i++) {
+                population.add(createRandomChromosome());
+            }
+            if (symmetryReducer != null) {
+                population.forEach(symmetryReducer::canonicalize);
+            }
+            evaluatePopulation(population); // Initial fitness evaluation
+            population.sort(Comparator.comparingDouble(ScheduleChromosome::getFitness));
+            log.debug("Population initialization complete.");
+        }
+
+        /**
+         * Evolves generations {@code fromGen..toGen} (inclusive).
+         *
+         * The run's deadline is checked before every generation, so an island never starts one after time is up.
+         * With {@link AdaptiveRateSettings} enabled, {@code crossRate} and {@code mutRate} are replaced per generation
+         * by rates derived from the island's current diversity.
+         *
+         * @param monitor Termination monitor checked after every generation, or null to only check the lower bound
+         *                (island mode, where the coordinator checks the other criteria per epoch).
+         * @return The termination criterion that fired, or null if all generations ran.
+         */
+        TerminationReason evolve(int fromGen, int toGen, int maxGen, double crossRate, double mutRate, int tourneySize,
+                                 TerminationMonitor monitor) {
+            int popSize = population.size();
+            for (int generation = fromGen; generation <= toGen; generation++) {
+                if (deadline.expired()) {
+                    log.info("GA stopping before generation {} (island {}): time budget of {} ms exhausted (Best Fitness: {})",
+                             generation, id, deadline.budgetMillis(), bestFitnessOrNA());
+                    return TerminationReason.TIME_BUDGET;
+                }
+                double generationCrossRate = crossRate;
+                double generationMutRate = mutRate;
+                if (adaptiveRates.enabled()) {
+                    double diversity = diversity();
+                    generationCrossRate = adaptiveRates.crossoverRate(diversity);
+                    generationMutRate = adaptiveRates.mutationRate(diversity);
+                    log.debug("GA Generation {} starting (island {}): diversity {}, crossover rate {}, mutation rate {}",
+                              generation, id, String.format("%.3f", diversity),
+                              String.format("%.3f", generationCrossRate), String.format("%.4f", generationMutRate));
+                } else {
+                    log.debug("GA Generation {} starting...", generation);
+                }
+                List<ScheduleChromosome> newPopulation = new ArrayList<>(popSize);
+                int repairedGenes = 0;
+
+                // Elitism: Preserve the best individual from the current population
+                population.sort(Comparator.comparingDouble(ScheduleChromosome::getFitness));
+                if (!population.isEmpty()) {
+                    log.trace("GA Gen {}: Preserving elite chromosome (Fitness: {})", generation, population.get(0).getFitness());
+                    newPopulation.add(population.get(0).copy()); // Add a copy of the best
+                }
+
+                // Generate the rest of the new population through selection, crossover, mutation
+                while (newPopulation.size() < popSize) {
+                    // Select two parents based on fitness
+                    ScheduleChromosome parent1 = tournamentSelection(tourneySize);
+                    ScheduleChromosome parent2 = tournamentSelection(tourneySize);
+                    ScheduleChromosome offspring;
+
+                    // Apply Crossover
+                    if (random.nextDouble() < generationCrossRate) {
+                        offspring = crossover(parent1, parent2);
+                    } else {
+                        // If no crossover, clone one parent (e.g., the fitter one)
+                        offspring = parent1.getFitness() <= parent2.getFitness() ? parent1.copy() : parent2.copy();
+                    }
+
+                    // Apply Mutation
+                    mutate(offspring, generationMutRate);
+
+                    // Repair hard-constraint violations (double bookings, missing skills, unavailability)
+                    if (repairOperator != null) {
+                        repairedGenes += repairOperator.repair(offspring, random);
+                    }
+
+                    // Symmetry reduction: only the class of each gene is searched, members are assigned by balancing
+                    if (symmetryReducer != null) {
+                        symmetryReducer.canonicalize(offspring);
+                    }
+
+                    // Add the new offspring to the next generation's population
+                    newPopulation.add(offspring);
+                }
+
+                if (repairOperator != null) {
+                    log.trace("GA Gen {}: repaired {} genes in offspring (island {}).", generation, repairedGenes, id);
+                }
+                population = newPopulation; // Replace old population with the new one
+                evaluatePopulation(population); // Evaluate fitness of the newly generated population
+                population.sort(Comparator.comparingDouble(ScheduleChromosome::getFitness)); // Sort for logging the best
+
+                // Memetic step: hill-climb the best chromosomes every few generations
+                if (localSearchSettings.enabled() && generation % localSearchSettings.interval() == 0) {
+                    refineElite();
+                }
+
+                // Log progress - adjust frequency if too verbose (e.g., log every 10 generations)
+                if (generation % 10 == 0 || generation == maxGen || generation == 1) {
+                    log.debug("GA Generation {}/{} completed (island {}). Best Fitness: {}",
+                              generation, maxGen, id, population.get(0).getFitness());
+                }
+
+                // Termination criteria: lower bound reached, stagnation, diversity collapse
+                generationsCompleted = generation;
+                double bestFitness = population.get(0).getFitness();
+                TerminationReason reason = (monitor != null)
+                        ? monitor.check(generation, bestFitness, this::diversity)
+                        : (bestFitness <= terminationSettings.lowerBound() ? TerminationReason.LOWER_BOUND : null);
+                if (reason != null) {
+                    log.info("GA stopping at generation {} (island {}): {} (Best Fitness: {})", generation, id, reason, bestFitness);
+                    return reason;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Population diversity: mean fraction of differing genes over randomly sampled pairs
+         * (0 = all chromosomes identical, 1 = no gene in common).
+         */
+        double diversity() {
+            int size = population.size();
+            int genes = slotTable.size();
+            if (size < 2 || genes == 0) return 0;
+            int samples = Math.min(size * (size - 1) / 2, 2 * size);
+            long differing = 0;
+            for (int i = 0; i < samples; i++) {
+                int a = random.nextInt(size);
+                int b = random.nextInt(size - 1);
+                if (b >= a) b++; // Distinct pair
+                int[] genesA = population.get(a).genes();
+                int[] genesB = population.get(b).genes();
+                for (int g = 0; g < genes; g++) {
+                    if (genesA[g] != genesB[g]) differing++;
+                }
+            }
+            return (double) differing / ((long) samples * genes);
+        }
+
+        /** Runs local search on the top-k chromosomes in place and re-sorts the population. */
+        private void refineElite() {
+            int count = Math.min(localSearchSettings.topK(), population.size());
+            int moves = 0;
+            for (int i = 0; i < count; i++) {
+                ScheduleChromosome chromosome = population.get(i);
+                moves += localSearch.improve(chromosome, random, localSearchSettings.moveBudget(), deadline);
+                if (!deltaEvaluation) {
+                    chromosome.attachState(null); // Not needed without delta mutation
+                }
+            }
+            population.sort(Comparator.comparingDouble(ScheduleChromosome::getFitness));
+            log.trace("Local search on island {} applied {} improving moves to the top {} chromosomes.", id, moves, count);
+        }
+
+        /** Best chromosome of the population. */
+        ScheduleChromosome best() {
+            population.sort(Comparator.comparingDouble(ScheduleChromosome::getFitness));
+            return population.get(0);
+        }
+
+        Object bestFitnessOrNA() {
+            return population.isEmpty() ? "N/A" : population.get(0).getFitness();
+        }
+
+        /** Copies of the {@code count} best chromosomes, for migration. */
+        List<ScheduleChromosome> bestCopies(int count) {
+            population.sort(Comparator.comparingDouble(ScheduleChromosome::getFitness));
+            List<ScheduleChromosome> copies = new ArrayList<>(count);
+            for (int i = 0; i < count && i < population.size(); i++) {
+                copies.add(population.get(i).copy());
+            }
+            return copies;
+        }
+
+        /** Replaces the worst chromosomes with the given immigrants. */
+        void replaceWorst(List<ScheduleChromosome> immigrants) {
+            population.sort(Comparator.comparingDouble(ScheduleChromosome::getFitness));
+            int size = population.size();
+            for (int i = 0; i < immigrants.size() && i < size; i++) {
+                population.set(size - 1 - i, immigrants.get(i));
+            }
+            population.sort(Comparator.comparingDouble(ScheduleChromosome::getFitness));
+        }
+
+        /** Creates a single chromosome with random assignments (see {@link GreedySeeder} for constructed ones). */
+        private ScheduleChromosome createRandomChromosome() {
+            int[] genes = new int[slotTable.size()];
+            for (int slot = 0; slot < genes.length; slot++) {
+                // Simple random assignment: ~80% chance to assign *someone*, otherwise left unassigned.
+                // The someone is usually drawn from the employees eligible for the slot.
+                genes[slot] = (employeeCount > 0 && random.nextDouble() < 0.8)
+                        ? pickEmployee(slot, ScheduleChromosome.UNASSIGNED)
+                        : ScheduleChromosome.UNASSIGNED;
+            }
+            return new ScheduleChromosome(genes);
+        }
+
+        /**
+         * Picks an employee for the slot, different from {@code current} where possible. Samples the slot's eligible
+         * employees, except with probability {@code outsideEligibleRate} (or when no eligible alternative exists)
+         * where any employee may be picked.
+         */
+        private int pickEmployee(int slot, int current) {
+            int[] eligible = eligibility.eligible(slot);
+            boolean hasAlternative = eligible.length > 1 || (eligible.length == 1 && eligible[0] != current);
+            if (hasAlternative && random.nextDouble() >= outsideEligibleRate) {
+                int employee;
+                do {
+                    employee = eligible[random.nextInt(eligible.length)];
+                } while (employee == current);
+                return employee;
+            }
+            int employee;
+            do {
+                employee = random.nextInt(employeeCount);
+            } while (employeeCount > 1 && employee == current); // Ensure it's different if possible
+            return employee;
+        }
+
+        /**
+         * Calculates fitness for all chromosomes in the population that haven't been evaluated yet.
+         * With the fitness cache enabled, chromosomes whose fingerprint is cached take the cached fitness, and
+         * identical chromosomes within the batch are evaluated only once; every evaluated chromosome is then
+         * recorded in the cache.
+         * With an evaluation pool the pending chromosomes are scored concurrently; every task writes only
+         * to its own chromosome, so the outcome does not depend on scheduling order.
+         */
+        private void evaluatePopulation(List<ScheduleChromosome> populationToEvaluate) {
+            List<ScheduleChromosome> pending = new ArrayList<>();
+            List<ScheduleChromosome> duplicates = null;              // Identical to a pending chromosome of this batch
+            Map<Long, ScheduleChromosome> pendingByFingerprint = null;
+            int cached = 0;
+            for (ScheduleChromosome chromosome : populationToEvaluate) {
+                // Only calculate fitness if it hasn't been calculated before (fitness < 0)
+                if (chromosome.getFitness() >= 0) continue;
+                if (memo != null) {
+                    double fitness = memo.get(chromosome.fingerprint());
+                    if (fitness >= 0) {
+                        chromosome.setFitness(fitness);
+                        cached++;
+                        continue;
+                    }
+                    if (pendingByFingerprint == null) pendingByFingerprint = new HashMap<>();
+                    ScheduleChromosome twin = pendingByFingerprint.putIfAbsent(chromosome.fingerprint(), chromosome);
+                    if (twin != null && Arrays.equals(twin.genes(), chromosome.genes())) {
+                        if (duplicates == null) duplicates = new ArrayList<>();
+                        duplicates.add(chromosome);
+                        memo.countHit(); // The failed lookup above becomes a hit
+                        continue;
+                    }
+                }
+                pending.add(chromosome);
+            }
+            if (pool != null && pending.size() > 1) {
+                pool.invoke(new EvaluationTask(pending, 0, pending.size()));
+            } else {
+                for (ScheduleChromosome chromosome : pending) {
+                    evaluate(chromosome);
+                }
+            }
+            if (duplicates != null) {
+                for (ScheduleChromosome duplicate : duplicates) {
+                    duplicate.setFitness(pendingByFingerprint.get(duplicate.fingerprint()).getFitness());
+                }
+                cached += duplicates.size();
+            }
+            if (memo != null) {
+                for (ScheduleChromosome chromosome : populationToEvaluate) {
+                    memo.put(chromosome.fingerprint(), chromosome.getFitness()); // Also keeps survivors recently used
+                }
+            }
+            log.trace("Fitness evaluation complete. Calculated fitness for {} chromosomes, {} from the cache.", pending.size(), cached);
+        }
+
+        /** Selects a parent chromosome using Tournament Selection. */
+        private ScheduleChromosome tournamentSelection(int tourneySize) {
+            ScheduleChromosome best = null;
+            // Randomly select TOURNAMENT_SIZE individuals from the population
+            for (int i = 0; i < tourneySize; i++) {
+                ScheduleChromosome candidate = population.get(random.nextInt(population.size()));
+                // The candidate with the lowest fitness (best) wins the tournament
+                if (best == null || candidate.getFitness() < best.getFitness()) {
+                    best = candidate;
+                }
+            }
+            return best; // Note: Returns a reference to the chromosome in the population
+        }
+
+        /** Combines two parents into one offspring with the configured {@link CrossoverOperator}. */
+        private ScheduleChromosome crossover(ScheduleChromosome parent1, ScheduleChromosome parent2) {
+            return new ScheduleChromosome(crossoverOperator.cross(parent1.genes(), parent2.genes(), slotTable, random));
+        }
+
+        /**
+         * Applies mutation to a chromosome by randomly changing some assignments based on mutation rate.
+         * Cloned parents still carry their fitness state, so their mutations are scored incrementally;
+         * crossover offspring have no state yet and are fully evaluated afterwards.
+         */
+        private void mutate(ScheduleChromosome chromosome, double mutRate) {
+            boolean incremental = deltaEvaluation && chromosome.hasFitnessState();
+            int mutationCount = 0;
+            for (int slot = 0; slot < chromosome.size(); slot++) {
+                // Apply mutation based on the MUTATION_RATE
+                if (random.nextDouble() < mutRate) {
+                    // Change assignment: Either assign a different random employee or set to unassigned
+                    int currentEmployee = chromosome.get(slot);
+                    int newEmployee = ScheduleChromosome.UNASSIGNED;
+                    if (employeeCount > 0 && random.nextBoolean()) { // 50% chance to try assigning *someone*
+                        // Select a (usually eligible) employee different from the current one
+                        newEmployee = pickEmployee(slot, currentEmployee);
+                    }
+                    if (incremental) {
+                        fitnessCalculator.applyChange(chromosome, slot, newEmployee);
+                    } else {
+                        chromosome.set(slot, newEmployee);
+                    }
+                    mutationCount++;
+                }
+            }
+            if (incremental && mutationCount > 0) {
+                fitnessCalculator.syncFitness(chromosome); // Drop rounding drift accumulated by the running total
+            }
+            if (mutationCount > 0) {
+                log.trace("Mutation applied to {} genes in chromosome.", mutationCount);
+            }
+            // TODO: Consider more sophisticated mutation operators if needed (e.g., swap mutations)
+        }
+    }
+
+    /** Evaluates a range of chromosomes, splitting it in halves until ranges are small enough to run directly. */
+    private final class EvaluationTask extends RecursiveAction {
+        private static final int THRESHOLD = 4;
+        private final List<ScheduleChromosome> chromosomes;
+        private final int from;
+        private final int to;
+
+        EvaluationTask(List<ScheduleChromosome> chromosomes, int from, int to) {
+            this.chromosomes = chromosomes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    evaluate(chromosomes.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new EvaluationTask(chromosomes, from, mid), new EvaluationTask(chromosomes, mid, to));
+        }
+    }
+}
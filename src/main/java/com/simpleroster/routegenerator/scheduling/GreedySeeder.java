@@ -0,0 +1,76 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Randomized greedy constructor for initial GA chromosomes.
+ * Fills slots in order of scarcity (fewest eligible employees first) and gives each slot to the employee
+ * whose assignment lowers the total penalty the most, as measured by the delta fitness evaluation. That covers
+ * contract hours, consecutive days, weekends, preferences and double bookings against what is already assigned.
+ * Slots are left unassigned if no employee improves the score.
+ * <p>
+ * Diversity comes from random tie-breaking, both between equally scarce slots and between equally good employees.
+ */
+final class GreedySeeder {
+
+    private static final double TIE_TOLERANCE = 1e-9;
+
+    private final FitnessCalculator fitnessCalculator;
+    private final EligibilityIndex eligibility;
+
+    GreedySeeder(FitnessCalculator fitnessCalculator, EligibilityIndex eligibility) {
+        this.fitnessCalculator = fitnessCalculator;
+        this.eligibility = eligibility;
+    }
+
+    /**
+     * Builds one chromosome. The result is fully evaluated and carries delta-evaluation state.
+     *
+     * @param random Stream of the calling island; only used on the calling thread.
+     */
+    ScheduleChromosome build(SplittableRandom random) {
+        int slotCount = fitnessCalculator.getSlotTable().size();
+        ScheduleChromosome chromosome = new ScheduleChromosome(slotCount);
+        fitnessCalculator.evaluateWithState(chromosome);
+
+        for (int slot : scarcityOrder(slotCount, random)) {
+            int[] candidates = eligibility.eligible(slot);
+            int best = ScheduleChromosome.UNASSIGNED;
+            double bestDelta = 0; // Leaving the slot empty costs nothing extra
+            int ties = 0;
+            for (int employee : candidates) {
+                double delta = fitnessCalculator.deltaForChange(chromosome, slot, employee);
+                if (delta < bestDelta - TIE_TOLERANCE) {
+                    best = employee;
+                    bestDelta = delta;
+                    ties = 1;
+                } else if (best != ScheduleChromosome.UNASSIGNED && Math.abs(delta - bestDelta) <= TIE_TOLERANCE
+                        && random.nextInt(++ties) == 0) {
+                    best = employee; // Reservoir sampling: each tied employee is equally likely
+                }
+            }
+            if (best != ScheduleChromosome.UNASSIGNED) {
+                fitnessCalculator.applyChange(chromosome, slot, best);
+            }
+        }
+        fitnessCalculator.syncFitness(chromosome);
+        return chromosome;
+    }
+
+    /** Slot ordinals sorted by ascending eligible-employee count, ties in random order. */
+    private int[] scarcityOrder(int slotCount, SplittableRandom random) {
+        long[] keys = new long[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            // Eligible count in the high bits, a random tie-breaker in the middle, the slot ordinal in the low 24 bits
+            long scarcity = Math.min(eligibility.eligible(slot).length, 0xFFFF);
+            keys[slot] = (scarcity << 47) | ((long) random.nextInt(1 << 23) << 24) | slot;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            order[i] = (int) (keys[i] & 0xFFFFFF);
+        }
+        return order;
+    }
+}
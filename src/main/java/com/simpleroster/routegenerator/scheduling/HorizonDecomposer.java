@@ -0,0 +1,141 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Horizon decomposition for long periods: splits the problem's days into consecutive windows of a fixed length
+ * (e.g. weeks) and solves them one after the other with the same {@link RosterSolver}. Search space and fitness cost
+ * then grow with the window instead of the whole horizon, so the runtime grows roughly linearly with its length.
+ * <p>
+ * Windows are stitched through {@link CarryOver} state: after a window is solved, each employee's last worked day,
+ * consecutive-day count, accumulated hours and weekends are handed to the next window's fitness calculator, so
+ * constraints across the boundary are still scored. The windows therefore run in sequence; the solver parallelizes
+ * within each window as usual. The minimum total hours are due pro rata per window, the minimum consecutive days
+ * only at the end of the horizon.
+ * <p>
+ * The stitched schedule is re-scored on the whole horizon, so its fitness is comparable to an undecomposed run.
+ */
+public final class HorizonDecomposer {
+
+    private static final Logger log = LoggerFactory.getLogger(HorizonDecomposer.class);
+
+    private final int windowDays;
+
+    /** @param windowDays Days per window (the last window may be shorter); at least 1. */
+    public HorizonDecomposer(int windowDays) {
+        if (windowDays < 1) {
+            throw new IllegalArgumentException("Window length must be at least one day, got " + windowDays);
+        }
+        this.windowDays = windowDays;
+    }
+
+    /** Whether the problem's period is longer than one window, i.e. decomposing it makes a difference. */
+    public boolean splits(RosterProblem problem) {
+        return problem.slotTable().dayCount() > windowDays;
+    }
+
+    /**
+     * Wraps the solver so that problems longer than one window are solved window by window and shorter ones directly.
+     * The wrapper keeps the solver's name.
+     */
+    public RosterSolver around(RosterSolver solver) {
+        return new RosterSolver() {
+            @Override
+            public String name() {
+                return solver.name();
+            }
+
+            @Override
+            public SolverResult solve(RosterProblem problem, long seed, Deadline deadline) {
+                return splits(problem) ? HorizonDecomposer.this.solve(solver, problem, seed, deadline) : solver.solve(problem, seed, deadline);
+            }
+        };
+    }
+
+    /**
+     * Solves the problem window by window.
+     *
+     * @param solver   Solver run on every window.
+     * @param problem  Problem of the whole horizon.
+     * @param seed     Seed of the run; each window gets its own seed derived from it.
+     * @param deadline Deadline of the whole run. Each window gets an equal share of the time that is left when it starts.
+     * @return The stitched schedule over the whole horizon, with iterations and cache counters summed over the windows.
+     */
+    public SolverResult solve(RosterSolver solver, RosterProblem problem, long seed, Deadline deadline) {
+        SlotTable horizon = problem.slotTable();
+        int dayCount = horizon.dayCount();
+        int windowCount = (dayCount + windowDays - 1) / windowDays;
+        log.info("Horizon decomposition: {} days in {} windows of {} days, solver {}", dayCount, windowCount, windowDays, solver.name());
+
+        int[] genes = new int[horizon.size()];
+        Arrays.fill(genes, ScheduleChromosome.UNASSIGNED);
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<CarryOver> carryOver = List.of(); // Nobody has worked before the first window
+        int iterations = 0;
+        int maxIterations = 0;
+        long cacheLookups = 0;
+        long cacheHits = 0;
+        int reheats = 0;
+        TerminationReason reason = TerminationReason.MAX_GENERATIONS;
+        boolean outOfTime = false;
+
+        int from = 0; // First horizon slot ordinal of the current window
+        for (int w = 0; w < windowCount; w++) {
+            int firstDay = w * windowDays;
+            int lastDay = Math.min(dayCount, firstDay + windowDays) - 1;
+            boolean last = w == windowCount - 1;
+            int to = from;
+            while (to < horizon.size() && (last || horizon.dayIndex(to) <= lastDay)) {
+                to++;
+            }
+            // Slots are sorted by date, so window ordinal i is horizon ordinal from + i
+            LocalDate windowStart = horizon.startDate().plusDays(firstDay);
+            SlotTable windowSlots = new SlotTable(horizon.slots(from, to), windowStart, horizon.startDate().plusDays(lastDay));
+            HorizonWindow window = new HorizonWindow(carryOver, (double) (lastDay + 1) / dayCount, last);
+            CoverageCurve windowCurve = problem.coverageCurve() != null ? problem.coverageCurve().days(firstDay, lastDay + 1) : null;
+            RosterProblem windowProblem = new RosterProblem(problem.employees(), problem.profiles(), windowSlots,
+                    problem.skillIndex(), problem.penalties(), window, windowCurve);
+            long windowSeed = seeds.nextLong(); // Drawn for empty windows too, so seeds do not depend on the slots
+
+            ScheduleChromosome windowBest;
+            if (windowSlots.size() == 0) {
+                windowBest = new ScheduleChromosome(0);
+            } else {
+                SolverResult result = solver.solve(windowProblem, windowSeed, windowDeadline(deadline, windowCount - w));
+                windowBest = result.assignment();
+                System.arraycopy(windowBest.genes(), 0, genes, from, windowBest.size());
+                iterations += result.iterations();
+                maxIterations += result.maxIterations();
+                cacheLookups += result.fitnessCacheLookups();
+                cacheHits += result.fitnessCacheHits();
+                reheats += result.reheats();
+                reason = result.terminationReason();
+                outOfTime |= reason == TerminationReason.TIME_BUDGET;
+                log.info("Horizon window {}/{} ({} to {}, {} slots): fitness {} ({})", w + 1, windowCount, windowStart,
+                        windowStart.plusDays(lastDay - firstDay), windowSlots.size(), windowBest.getFitness(), reason);
+            }
+            carryOver = windowProblem.fitnessCalculator().carryOverAfter(windowBest);
+            from = to;
+        }
+
+        ScheduleChromosome best = new ScheduleChromosome(genes);
+        best.setFitness(problem.fitnessCalculator().calculateFitness(best)); // Score on the whole horizon
+        log.info("Horizon decomposition finished: stitched fitness {} over {} windows.", best.getFitness(), windowCount);
+        return new SolverResult(best, iterations, maxIterations, outOfTime ? TerminationReason.TIME_BUDGET : reason,
+                cacheLookups, cacheHits, reheats);
+    }
+
+    /** An equal share of the remaining time for each of the remaining windows; no limit if the run has none. */
+    private static Deadline windowDeadline(Deadline deadline, int windowsLeft) {
+        if (!deadline.isSet()) {
+            return Deadline.NONE;
+        }
+        return Deadline.after(Math.max(1, deadline.remainingMillis() / windowsLeft));
+    }
+}
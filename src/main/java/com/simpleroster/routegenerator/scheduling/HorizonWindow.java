@@ -0,0 +1,30 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import java.util.List;
+
+/**
+ * Position of a problem within a decomposed horizon (see {@link HorizonDecomposer}), as seen by the
+ * {@link FitnessCalculator}: where each employee stands when the window starts and how much of the horizon's
+ * totals the window is accountable for.
+ *
+ * @param carryOver     Per employee (same indexing as the employees), the state at the start of the window.
+ *                      Empty means no employee has worked before the window.
+ * @param minHoursShare Fraction (0.0 to 1.0) of each employee's minimum total hours due by the end of the window,
+ *                      i.e. the share of the horizon's days up to and including the window.
+ * @param last          Whether the window ends the horizon; blocks of work still open at the end of an earlier
+ *                      window may continue in the next one, so the minimum consecutive days are only checked in the last.
+ */
+public record HorizonWindow(List<CarryOver> carryOver, double minHoursShare, boolean last) {
+
+    /** The whole horizon as a single window, i.e. no decomposition. */
+    public static final HorizonWindow WHOLE = new HorizonWindow(List.of(), 1.0, true);
+
+    public HorizonWindow {
+        carryOver = List.copyOf(carryOver);
+    }
+
+    /** Carry-over of the employee, {@link CarryOver#NONE} if none is recorded. */
+    CarryOver carryOver(int employeeIndex) {
+        return carryOver.isEmpty() ? CarryOver.NONE : carryOver.get(employeeIndex);
+    }
+}
@@ -0,0 +1,31 @@
+package com.simpleroster.routegenerator.scheduling;
+
+/**
+ * Island-model configuration for the {@link GeneticAlgorithmEngine}.
+ * With more than one island the population is split into independent sub-populations that evolve
+ * on their own threads and periodically exchange their best chromosomes.
+ *
+ * @param islandCount       Number of sub-populations; 1 runs the classic single (panmictic) population.
+ * @param migrationInterval Generations between migrations.
+ * @param migrantCount      Number of best chromosomes each island sends per migration.
+ * @param topology          Where migrants go.
+ */
+public record IslandSettings(int islandCount, int migrationInterval, int migrantCount, Topology topology) {
+
+    /** Migration topology between islands. */
+    public enum Topology {
+        /** Island i sends to island i+1 (wrapping around). */
+        RING,
+        /** Each island sends to a randomly chosen other island. */
+        RANDOM
+    }
+
+    /** Single population, no migration. */
+    public static IslandSettings single() {
+        return new IslandSettings(1, Integer.MAX_VALUE, 0, Topology.RING);
+    }
+
+    public boolean enabled() {
+        return islandCount > 1;
+    }
+}
@@ -0,0 +1,134 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import java.util.SplittableRandom;
+
+/**
+ * First-improvement hill climbing used as the memetic refinement step of the GA.
+ * Moves:
+ * <ul>
+ *   <li>unassign a slot (pays off for over-staffed slots or assignments that cost more than the coverage they give),</li>
+ *   <li>reassign a slot to another eligible employee,</li>
+ *   <li>swap the employees of two slots on the same day.</li>
+ * </ul>
+ * Every move is scored with delta evaluation ({@link FitnessCalculator#deltaForChange} / {@link FitnessCalculator#applyChange}),
+ * never a full fitness calculation, and the search stops at a local optimum, when the move budget is spent
+ * or when the run's {@link Deadline} has passed. The budget counts evaluated moves: each unassignment, reassignment
+ * or swap candidate scored costs one, moves that are skipped cost nothing.
+ * <p>
+ * Holds only immutable lookup tables, so one instance can serve all islands concurrently.
+ */
+final class LocalSearch {
+
+    private static final double IMPROVEMENT_EPSILON = 1e-9;
+    private static final int DEADLINE_CHECK_INTERVAL = 64; // Slots scanned between deadline checks
+
+    private final FitnessCalculator fitnessCalculator;
+    private final EligibilityIndex eligibility;
+    private final SlotTable slotTable;
+
+    LocalSearch(FitnessCalculator fitnessCalculator, EligibilityIndex eligibility) {
+        this.fitnessCalculator = fitnessCalculator;
+        this.eligibility = eligibility;
+        this.slotTable = fitnessCalculator.getSlotTable();
+    }
+
+    /**
+     * Improves the chromosome in place.
+     *
+     * @param chromosome Chromosome to refine; evaluated with delta state first if it has none.
+     * @param random     Stream of the calling island (randomizes the scan order).
+     * @param moveBudget Maximum number of moves to evaluate.
+     * @param deadline   Deadline of the run; the search stops early once it has passed.
+     * @return The number of improving moves applied.
+     */
+    int improve(ScheduleChromosome chromosome, SplittableRandom random, int moveBudget, Deadline deadline) {
+        if (!chromosome.hasFitnessState()) {
+            fitnessCalculator.evaluateWithState(chromosome);
+        }
+        int slotCount = chromosome.size();
+        if (slotCount == 0) return 0;
+
+        int budget = moveBudget;
+        int applied = 0;
+        boolean improved = true;
+        while (improved && budget > 0) {
+            improved = false;
+            int offset = random.nextInt(slotCount);
+            for (int i = 0; i < slotCount && budget > 0; i++) {
+                if (i % DEADLINE_CHECK_INTERVAL == 0 && deadline.expired()) {
+                    budget = 0;
+                    break;
+                }
+                int slot = (offset + i) % slotCount;
+                int current = chromosome.get(slot);
+
+                // Move 1: unassign
+                if (current != ScheduleChromosome.UNASSIGNED) {
+                    budget--;
+                    if (fitnessCalculator.deltaForChange(chromosome, slot, ScheduleChromosome.UNASSIGNED) < -IMPROVEMENT_EPSILON) {
+                        fitnessCalculator.applyChange(chromosome, slot, ScheduleChromosome.UNASSIGNED);
+                        applied++;
+                        improved = true;
+                        continue;
+                    }
+                }
+
+                // Move 2: reassign to another eligible employee
+                boolean moved = false;
+                for (int candidate : eligibility.eligible(slot)) {
+                    if (candidate == current) continue;
+                    if (budget-- <= 0) break;
+                    if (fitnessCalculator.deltaForChange(chromosome, slot, candidate) < -IMPROVEMENT_EPSILON) {
+                        fitnessCalculator.applyChange(chromosome, slot, candidate);
+                        moved = true;
+                        break;
+                    }
+                }
+                if (moved) {
+                    applied++;
+                    improved = true;
+                    continue;
+                }
+
+                // Move 3: swap employees with another slot on the same day
+                if (current != ScheduleChromosome.UNASSIGNED && budget > 0) {
+                    double before = chromosome.getFitness();
+                    budget -= trySwap(chromosome, slot, current, budget);
+                    if (chromosome.getFitness() < before - IMPROVEMENT_EPSILON) {
+                        applied++;
+                        improved = true;
+                    }
+                }
+            }
+        }
+        fitnessCalculator.syncFitness(chromosome);
+        return applied;
+    }
+
+    /**
+     * Tries swapping with each assigned slot of the same day, at most {@code budget} of them; keeps the first swap
+     * that lowers the fitness. A swap is scored as the delta of its first half plus the delta of its second half
+     * with the first half tentatively applied.
+     *
+     * @return The number of swaps evaluated.
+     */
+    private int trySwap(ScheduleChromosome chromosome, int slot, int employee, int budget) {
+        int day = slotTable.dayIndex(slot);
+        if (day < 0 || day >= slotTable.dayCount()) return 0;
+        int evaluated = 0;
+        for (int other = slotTable.dayStart(day); other < slotTable.dayEnd(day) && evaluated < budget; other++) {
+            int otherEmployee = chromosome.get(other);
+            if (other == slot || otherEmployee == ScheduleChromosome.UNASSIGNED || otherEmployee == employee) continue;
+            evaluated++;
+            double delta = fitnessCalculator.deltaForChange(chromosome, slot, otherEmployee);
+            fitnessCalculator.applyChange(chromosome, slot, otherEmployee);
+            delta += fitnessCalculator.deltaForChange(chromosome, other, employee);
+            if (delta < -IMPROVEMENT_EPSILON) {
+                fitnessCalculator.applyChange(chromosome, other, employee);
+                return evaluated;
+            }
+            fitnessCalculator.applyChange(chromosome, slot, employee); // Revert the first half
+        }
+        return evaluated;
+    }
+}
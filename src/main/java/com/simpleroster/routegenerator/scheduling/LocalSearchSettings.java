@@ -0,0 +1,19 @@
+package com.simpleroster.routegenerator.scheduling;
+
+/**
+ * Memetic local-search configuration for the {@link GeneticAlgorithmEngine} (see {@link LocalSearch}).
+ *
+ * @param interval   Refine the best chromosomes every this many generations; 0 disables local search.
+ * @param topK       Number of best chromosomes (per island) refined each time.
+ * @param moveBudget Maximum moves evaluated per refined chromosome; the final result gets ten times this budget.
+ */
+public record LocalSearchSettings(int interval, int topK, int moveBudget) {
+
+    public static LocalSearchSettings disabled() {
+        return new LocalSearchSettings(0, 0, 0);
+    }
+
+    public boolean enabled() {
+        return interval > 0 && topK > 0 && moveBudget > 0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import java.time.LocalTime;
+
+/**
+ * Immutable snapshot of the penalty weights and thresholds used by the {@link FitnessCalculator}.
+ * Loaded by ScheduleService into the {@link RosterProblem} at the start of each generation run.
+ *
+ * @param hardConstraint      Penalty for violating hard constraints (skill mismatch, unavailability, double booking).
+ * @param underStaffingBase   Base penalty per missing employee below a task's minimum coverage.
+ * @param overStaffingBase    Base penalty per extra employee above a task's optimal coverage.
+ * @param forbiddenSuccession Penalty for an early shift immediately following a late shift.
+ * @param lateShiftThreshold  Time after which a shift ending is considered 'late'.
+ * @param earlyShiftThreshold Time before which a shift starting is considered 'early'.
+ */
+public record PenaltySettings(int hardConstraint,
+                              int underStaffingBase,
+                              int overStaffingBase,
+                              int forbiddenSuccession,
+                              LocalTime lateShiftThreshold,
+                              LocalTime earlyShiftThreshold) {}
@@ -0,0 +1,117 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import java.util.SplittableRandom;
+
+/**
+ * Hard-constraint repair applied to offspring after mutation. Finds genes that break a per-assignment hard constraint:
+ * <ul>
+ *   <li>H1: the employee already works another slot that day (double booking),</li>
+ *   <li>H4: the employee lacks a required skill of the task,</li>
+ *   <li>the employee is not available for the slot window,</li>
+ * </ul>
+ * and moves each such slot to an eligible employee who is still free that day, or unassigns it if there is none.
+ * <p>
+ * Works in two passes over the chromosome. The first pass keeps, per employee and day, the first assignment
+ * that is eligible and records it in per-employee day bitsets. The second pass reassigns the offending slots
+ * against those bitsets, so a replacement never creates a new double booking.
+ * <p>
+ * Holds only immutable lookup tables, so one instance can serve all islands concurrently.
+ */
+final class RepairOperator {
+
+    private final FitnessCalculator fitnessCalculator;
+    private final EligibilityIndex eligibility;
+    private final SlotTable slotTable;
+    private final int employeeCount;
+    private final int dayWords;              // Longs per employee in the day bitsets
+    private final long[][] eligibleMask;     // Per required slot (see SlotTable#slotIndex): bitset over employee indices
+
+    RepairOperator(FitnessCalculator fitnessCalculator, EligibilityIndex eligibility) {
+        this.fitnessCalculator = fitnessCalculator;
+        this.eligibility = eligibility;
+        this.slotTable = fitnessCalculator.getSlotTable();
+        this.employeeCount = fitnessCalculator.employeeCount();
+        this.dayWords = (Math.max(slotTable.dayCount(), 0) + 63) >>> 6;
+        int employeeWords = (employeeCount + 63) >>> 6;
+        this.eligibleMask = new long[slotTable.slotCount()][employeeWords]; // Shared by the seats of a slot
+        for (int i = 0; i < slotTable.slotCount(); i++) {
+            for (int e : eligibility.eligibleForSlotIndex(i)) {
+                eligibleMask[i][e >>> 6] |= 1L << e;
+            }
+        }
+    }
+
+    /**
+     * Repairs the chromosome in place. Changes go through {@link FitnessCalculator#applyChange}, so a chromosome
+     * carrying delta state stays evaluated; otherwise its fitness is invalidated by the changed genes.
+     *
+     * @param chromosome Offspring to repair.
+     * @param random     Stream of the calling island (picks among the free eligible employees).
+     * @return The number of genes changed.
+     */
+    int repair(ScheduleChromosome chromosome, SplittableRandom random) {
+        int slotCount = chromosome.size();
+        long[] busy = new long[employeeCount * dayWords]; // Bit (e, day): employee e already works that day
+        int[] offending = null;
+        int offendingCount = 0;
+
+        // Pass 1: keep the first eligible assignment per employee and day, collect the rest
+        for (int s = 0; s < slotCount; s++) {
+            int employee = chromosome.get(s);
+            if (employee == ScheduleChromosome.UNASSIGNED) continue;
+            int day = slotTable.dayIndex(s);
+            if (isEligible(employee, s) && !isBusy(busy, employee, day)) {
+                markBusy(busy, employee, day);
+                continue;
+            }
+            if (offending == null) offending = new int[slotCount - s];
+            offending[offendingCount++] = s;
+        }
+        if (offendingCount == 0) {
+            return 0;
+        }
+
+        // Pass 2: move each offending slot to a free eligible employee, or leave it unassigned
+        for (int i = 0; i < offendingCount; i++) {
+            int slot = offending[i];
+            int day = slotTable.dayIndex(slot);
+            int replacement = pickFreeEligible(busy, slot, day, random);
+            if (replacement != ScheduleChromosome.UNASSIGNED) {
+                markBusy(busy, replacement, day);
+            }
+            fitnessCalculator.applyChange(chromosome, slot, replacement);
+        }
+        fitnessCalculator.syncFitness(chromosome); // No-op without delta state
+        return offendingCount;
+    }
+
+    /** A random eligible employee not yet working that day (scan from a random start), or UNASSIGNED. */
+    private int pickFreeEligible(long[] busy, int slot, int day, SplittableRandom random) {
+        int[] candidates = eligibility.eligible(slot);
+        if (candidates.length == 0) {
+            return ScheduleChromosome.UNASSIGNED;
+        }
+        int offset = random.nextInt(candidates.length);
+        for (int i = 0; i < candidates.length; i++) {
+            int candidate = candidates[(offset + i) % candidates.length];
+            if (!isBusy(busy, candidate, day)) {
+                return candidate;
+            }
+        }
+        return ScheduleChromosome.UNASSIGNED;
+    }
+
+    private boolean isEligible(int employee, int slot) {
+        return (eligibleMask[slotTable.slotIndex(slot)][employee >>> 6] & (1L << employee)) != 0;
+    }
+
+    private boolean isBusy(long[] busy, int employee, int day) {
+        if (day < 0 || (day >>> 6) >= dayWords) return false; // Outside the period: no day to double-book
+        return (busy[employee * dayWords + (day >>> 6)] & (1L << day)) != 0;
+    }
+
+    private void markBusy(long[] busy, int employee, int day) {
+        if (day < 0 || (day >>> 6) >= dayWords) return;
+        busy[employee * dayWords + (day >>> 6)] |= 1L << day;
+    }
+}
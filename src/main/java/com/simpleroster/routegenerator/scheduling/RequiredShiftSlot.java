@@ -0,0 +1,33 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Task;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Represents a single required shift slot that needs employees assigned.
+ * Includes the date, time, the task (which implies skill requirements) and how many employees it needs.
+ *
+ * @param minimumCoverage Employees needed at least; fewer is penalized as under-staffing.
+ * @param optimalCoverage Employees wanted; more is penalized as over-staffing. The slot has this many seats
+ *                        (see {@link SlotTable}), at least {@code minimumCoverage} and at least one.
+ */
+public record RequiredShiftSlot(LocalDate date, LocalTime startTime, LocalTime endTime, Task task,
+                                int minimumCoverage, int optimalCoverage) {
+
+    /** A slot with the coverage of its task (1 if the task does not define it). */
+    public RequiredShiftSlot(LocalDate date, LocalTime startTime, LocalTime endTime, Task task) {
+        this(date, startTime, endTime, task, minimumCoverage(task), optimalCoverage(task));
+    }
+
+    /** Minimum coverage of the task, 1 if it does not define it. */
+    static int minimumCoverage(Task task) {
+        return task != null && task.getMinimumCoverage() != null ? task.getMinimumCoverage() : 1;
+    }
+
+    /** Optimal coverage of the task, its minimum coverage if it does not define it. */
+    static int optimalCoverage(Task task) {
+        return task != null && task.getOptimalCoverage() != null ? task.getOptimalCoverage() : minimumCoverage(task);
+    }
+}
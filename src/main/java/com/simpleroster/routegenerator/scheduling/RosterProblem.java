@@ -0,0 +1,99 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Employee;
+
+import java.util.List;
+
+/**
+ * Immutable input of a {@link RosterSolver}: the employees with their compiled constraints, the required slots and
+ * the penalty weights. Built once per generation request from fully loaded entities; solvers only read it,
+ * possibly from several threads.
+ * <p>
+ * The {@link FitnessCalculator} is created here, so every solver scores schedules with exactly the same penalties.
+ */
+public final class RosterProblem {
+
+    private final List<Employee> employees;                 // Indexed by dense employee index (the gene value)
+    private final List<EmployeeConstraintProfile> profiles; // Same indexing
+    private final SlotTable slotTable;
+    private final SkillIndex skillIndex;
+    private final PenaltySettings penalties;
+    private final HorizonWindow window;
+    private final CoverageCurve coverageCurve;
+    private final FitnessCalculator fitnessCalculator;
+
+    /**
+     * @param employees  Employees with skills initialized; the list index is the employee index used in assignments.
+     * @param profiles   Compiled availability/preference profiles, aligned with {@code employees}.
+     * @param slotTable  Required slots of the period.
+     * @param skillIndex Dense skill ordinals for the skill bitmasks.
+     * @param penalties  Penalty weights and thresholds.
+     */
+    public RosterProblem(List<Employee> employees, List<EmployeeConstraintProfile> profiles, SlotTable slotTable,
+                         SkillIndex skillIndex, PenaltySettings penalties) {
+        this(employees, profiles, slotTable, skillIndex, penalties, HorizonWindow.WHOLE);
+    }
+
+    /**
+     * Problem of one window of a decomposed horizon (see {@link HorizonDecomposer}).
+     *
+     * @param window Carry-over state from the earlier windows; {@link HorizonWindow#WHOLE} for the whole horizon.
+     */
+    public RosterProblem(List<Employee> employees, List<EmployeeConstraintProfile> profiles, SlotTable slotTable,
+                         SkillIndex skillIndex, PenaltySettings penalties, HorizonWindow window) {
+        this(employees, profiles, slotTable, skillIndex, penalties, window, null);
+    }
+
+    /**
+     * Problem whose coverage is scored against a demand curve (see {@link CoverageCurve}).
+     *
+     * @param coverageCurve Demand of the slot table's period; null to score the coverage of the required slots.
+     */
+    public RosterProblem(List<Employee> employees, List<EmployeeConstraintProfile> profiles, SlotTable slotTable,
+                         SkillIndex skillIndex, PenaltySettings penalties, HorizonWindow window, CoverageCurve coverageCurve) {
+        this.employees = List.copyOf(employees);
+        this.profiles = List.copyOf(profiles);
+        this.slotTable = slotTable;
+        this.skillIndex = skillIndex;
+        this.penalties = penalties;
+        this.window = window;
+        this.coverageCurve = coverageCurve;
+        this.fitnessCalculator = new FitnessCalculator(this.employees, this.profiles, slotTable, skillIndex, penalties,
+                window, coverageCurve);
+    }
+
+    public List<Employee> employees() {
+        return employees;
+    }
+
+    public List<EmployeeConstraintProfile> profiles() {
+        return profiles;
+    }
+
+    public SlotTable slotTable() {
+        return slotTable;
+    }
+
+    public SkillIndex skillIndex() {
+        return skillIndex;
+    }
+
+    public PenaltySettings penalties() {
+        return penalties;
+    }
+
+    /** Position of the problem in a decomposed horizon, {@link HorizonWindow#WHOLE} if it is not decomposed. */
+    public HorizonWindow window() {
+        return window;
+    }
+
+    /** Demand curve coverage is scored against, or null if coverage is scored per required slot. */
+    public CoverageCurve coverageCurve() {
+        return coverageCurve;
+    }
+
+    /** Read-only fitness function of the problem, safe to share between threads. */
+    public FitnessCalculator fitnessCalculator() {
+        return fitnessCalculator;
+    }
+}
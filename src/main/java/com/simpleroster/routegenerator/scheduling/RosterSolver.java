@@ -0,0 +1,26 @@
+package com.simpleroster.routegenerator.scheduling;
+
+/**
+ * An optimization engine that assigns employees to the slots of a {@link RosterProblem}.
+ * Implementations are Spring beans, discovered by ScheduleService and selected by {@link #name()} through the
+ * {@code solver.engine} setting or the {@code solver} parameter of a generation request.
+ * <p>
+ * Implementations must be thread-safe: concurrent generation requests call {@link #solve} on the same bean.
+ * Per-run state belongs in the objects created for the run, not in the bean.
+ */
+public interface RosterSolver {
+
+    /** Name the solver is selected by, e.g. {@code "ga"}. Lower case, unique among solvers. */
+    String name();
+
+    /**
+     * Solves the problem.
+     *
+     * @param problem  Immutable problem model of the run.
+     * @param seed     Seed for all random decisions; the same seed, problem and settings replay the same run.
+     * @param deadline Wall-clock deadline of the run, or {@link Deadline#NONE}. Once it has passed the solver
+     *                 returns the best assignment found so far.
+     * @return The best assignment found, with run statistics.
+     */
+    SolverResult solve(RosterProblem problem, long seed, Deadline deadline);
+}
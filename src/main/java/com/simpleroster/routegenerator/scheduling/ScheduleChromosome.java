@@ -0,0 +1,138 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Represents a complete candidate schedule (a chromosome in the GA).
+ * Genes are stored as a primitive array indexed by slot ordinal (see {@link SlotTable});
+ * each gene holds the dense index of the assigned employee, or {@link #UNASSIGNED}.
+ * Fitness score represents the total penalty; lower is better (0 is optimal).
+ * <p>
+ * A 64-bit fingerprint of the genes (XOR of a hash per slot and employee) is kept up to date on every gene write,
+ * so the GA can look identical chromosomes up in its {@link FitnessMemo} without hashing the whole array.
+ */
+public class ScheduleChromosome {
+
+    /** Gene value for a slot with no employee assigned. */
+    public static final int UNASSIGNED = -1;
+
+    private final int[] genes; // The "genes" of the chromosome
+    private double fitness = -1.0; // Cached fitness score (negative means not calculated yet). Lower is better.
+    private FitnessState state;    // Optional delta-evaluation bookkeeping, kept in sync by FitnessCalculator.applyChange
+    private long fingerprint;      // XOR of geneHash(slot, genes[slot]) over all slots
+
+    /** Creates a chromosome of the given length with every slot unassigned. */
+    public ScheduleChromosome(int size) {
+        this.genes = new int[size];
+        Arrays.fill(genes, UNASSIGNED);
+        this.fingerprint = fingerprintOf(genes);
+    }
+
+    /** Wraps the given gene array. The array is owned by the chromosome afterwards and must not be shared. */
+    ScheduleChromosome(int[] genes) {
+        this.genes = genes;
+        this.fingerprint = fingerprintOf(genes);
+    }
+
+    private ScheduleChromosome(int[] genes, long fingerprint) {
+        this.genes = genes;
+        this.fingerprint = fingerprint;
+    }
+
+    /** Employee index assigned to the slot, or {@link #UNASSIGNED}. */
+    public int get(int slot) {
+        return genes[slot];
+    }
+
+    /**
+     * Assigns an employee index (or {@link #UNASSIGNED}) to a slot. Invalidates the cached fitness
+     * and any delta-evaluation state; use {@link FitnessCalculator#applyChange} to keep them up to date instead.
+     */
+    public void set(int slot, int employeeIndex) {
+        fingerprint ^= geneHash(slot, genes[slot]) ^ geneHash(slot, employeeIndex);
+        genes[slot] = employeeIndex;
+        this.fitness = -1.0; // Fitness needs recalculation
+        this.state = null;
+    }
+
+    /** Writes a gene without invalidating the delta state. Only for FitnessCalculator, which updates the state itself. */
+    void assign(int slot, int employeeIndex) {
+        fingerprint ^= geneHash(slot, genes[slot]) ^ geneHash(slot, employeeIndex);
+        genes[slot] = employeeIndex;
+    }
+
+    public int size() {
+        return genes.length;
+    }
+
+    /** Direct access to the gene array for the GA operators. Callers must not modify it. */
+    int[] genes() {
+        return genes;
+    }
+
+    FitnessState state() {
+        return state;
+    }
+
+    void attachState(FitnessState state) {
+        this.state = state;
+    }
+
+    /** Whether this chromosome carries delta-evaluation state, i.e. gene changes can be evaluated incrementally. */
+    public boolean hasFitnessState() {
+        return state != null;
+    }
+
+    /**
+     * 64-bit fingerprint of the genes: equal genes always give equal fingerprints, different genes collide
+     * with negligible probability (about 2^-64 per pair).
+     */
+    long fingerprint() {
+        return fingerprint;
+    }
+
+    public double getFitness() {
+        return fitness;
+    }
+
+    public void setFitness(double fitness) {
+        this.fitness = fitness;
+    }
+
+    /**
+     * Creates a copy with its own gene array. Identical genes mean identical fitness, so the cached value
+     * (and the delta-evaluation state and fingerprint) is kept.
+     */
+    public ScheduleChromosome copy() {
+        ScheduleChromosome copy = new ScheduleChromosome(genes.clone(), fingerprint);
+        copy.fitness = this.fitness;
+        copy.state = (state != null) ? state.copy() : null;
+        return copy;
+    }
+
+    private static long fingerprintOf(int[] genes) {
+        long hash = 0;
+        for (int slot = 0; slot < genes.length; slot++) {
+            hash ^= geneHash(slot, genes[slot]);
+        }
+        return hash;
+    }
+
+    /** Well-mixed hash of one (slot, employee) gene (SplitMix64 finalizer), so XOR-ing them gives a usable fingerprint. */
+    private static long geneHash(int slot, int employeeIndex) {
+        long z = (((long) slot << 32) | ((employeeIndex + 1) & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public String toString() {
+        // Provides a basic string representation for logging purposes
+        int assignedCount = 0;
+        for (int gene : genes) {
+            if (gene != UNASSIGNED) assignedCount++;
+        }
+        return String.format("Chromosome{size=%d, assigned=%d, fitness=%.2f}", genes.length, assignedCount, fitness);
+    }
+}
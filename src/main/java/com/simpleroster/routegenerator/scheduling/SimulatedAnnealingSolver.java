@@ -0,0 +1,206 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+
+/**
+ * Simulated annealing, the low-memory alternative to the {@link GeneticAlgorithmEngine}: it keeps one current
+ * schedule (with its delta-evaluation state) and the genes of the best schedule, instead of a whole population.
+ * <p>
+ * Starts from a {@link GreedySeeder} schedule. Every iteration proposes one random move, either reassigning
+ * (or unassigning) a slot, or swapping the employees of two slots on the same day. The move is scored with delta
+ * evaluation and accepted if it does not worsen the fitness, or otherwise with probability
+ * {@code exp(-delta / temperature)}. The temperature cools geometrically and is raised again (reheated) when the
+ * best fitness has stagnated, to escape the basin the search has settled in.
+ */
+public class SimulatedAnnealingSolver {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulatedAnnealingSolver.class);
+
+    private static final double IMPROVEMENT_EPSILON = 1e-9;
+    private static final int RESYNC_INTERVAL = 1024;   // Iterations between drift corrections of the running total
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+    private static final int CALIBRATION_SAMPLES = 200;
+
+    private final FitnessCalculator fitnessCalculator;
+    private final SlotTable slotTable;
+    private final EligibilityIndex eligibility;
+    private final GreedySeeder greedySeeder;
+    private final AnnealingSettings settings;
+    private final long seed;
+    private final SplittableRandom random;
+
+    // Outcome of the last run, for the run metrics
+    private int iterationsRun;
+    private int reheats;
+    private TerminationReason terminationReason;
+
+    /**
+     * @param fitnessCalculator Fitness function of the run.
+     * @param settings          Annealing parameters.
+     * @param seed              Seed for all random decisions of the run; the same seed and inputs replay the same run.
+     */
+    public SimulatedAnnealingSolver(FitnessCalculator fitnessCalculator, AnnealingSettings settings, long seed) {
+        this.fitnessCalculator = fitnessCalculator;
+        this.slotTable = fitnessCalculator.getSlotTable();
+        this.eligibility = new EligibilityIndex(fitnessCalculator);
+        this.greedySeeder = new GreedySeeder(fitnessCalculator, eligibility);
+        this.settings = settings;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Number of iterations the last {@link #run} completed. */
+    public int getIterationsRun() {
+        return iterationsRun;
+    }
+
+    /** Number of times the last {@link #run} reheated. */
+    public int getReheats() {
+        return reheats;
+    }
+
+    /** Criterion that ended the last {@link #run}. */
+    public TerminationReason getTerminationReason() {
+        return terminationReason;
+    }
+
+    /**
+     * Runs the annealing until the iteration limit, a perfect schedule or the deadline.
+     *
+     * @param deadline Wall-clock deadline of the run, or {@link Deadline#NONE}.
+     * @return The best schedule found, fully evaluated.
+     */
+    public ScheduleChromosome run(Deadline deadline) {
+        ScheduleChromosome current = greedySeeder.build(random); // Evaluated, with delta state
+        int slotCount = current.size();
+        int[] bestGenes = current.genes().clone();
+        double bestFitness = current.getFitness();
+        double initialTemperature = settings.initialTemperature() > 0 ? settings.initialTemperature() : calibrateTemperature(current);
+        double temperature = initialTemperature;
+        log.info("Annealing Run: seed {}, {} slots, initial temperature {}, cooling rate {}, initial fitness {}",
+                seed, slotCount, String.format("%.2f", initialTemperature), settings.coolingRate(), bestFitness);
+
+        int iteration = 0;
+        int lastImprovement = 0;
+        reheats = 0;
+        TerminationReason reason = (slotCount == 0 || bestFitness <= 0) ? TerminationReason.LOWER_BOUND : null;
+        while (reason == null) {
+            if (iteration >= settings.maxIterations()) {
+                reason = TerminationReason.MAX_GENERATIONS;
+                break;
+            }
+            if (iteration % DEADLINE_CHECK_INTERVAL == 0 && deadline.expired()) {
+                reason = TerminationReason.TIME_BUDGET;
+                break;
+            }
+            iteration++;
+
+            step(current, temperature);
+            if (iteration % RESYNC_INTERVAL == 0) {
+                fitnessCalculator.syncFitness(current);
+            }
+            if (current.getFitness() < bestFitness - IMPROVEMENT_EPSILON) {
+                fitnessCalculator.syncFitness(current);
+                bestFitness = current.getFitness();
+                System.arraycopy(current.genes(), 0, bestGenes, 0, slotCount);
+                lastImprovement = iteration;
+                if (bestFitness <= 0) {
+                    reason = TerminationReason.LOWER_BOUND;
+                }
+            }
+
+            // Geometric cooling, reheating after stagnation
+            temperature = Math.max(settings.minTemperature(), temperature * settings.coolingRate());
+            if (settings.reheatAfter() > 0 && iteration - lastImprovement >= settings.reheatAfter()) {
+                temperature = Math.max(settings.minTemperature(), initialTemperature * settings.reheatFactor());
+                lastImprovement = iteration; // Give the reheated search a full stagnation window
+                reheats++;
+                log.debug("Annealing iteration {}: reheated to {} (best fitness {})", iteration, temperature, bestFitness);
+            }
+            if (iteration % 10000 == 0) {
+                log.debug("Annealing iteration {}: temperature {}, current fitness {}, best fitness {}",
+                        iteration, temperature, current.getFitness(), bestFitness);
+            }
+        }
+        iterationsRun = iteration;
+        terminationReason = reason;
+
+        ScheduleChromosome best = new ScheduleChromosome(bestGenes);
+        best.setFitness(fitnessCalculator.calculateFitness(best)); // Exact score, free of delta rounding
+        log.info("Annealing Run Finished after {}/{} iterations ({}, {} reheats). Final Best Fitness: {}",
+                iterationsRun, settings.maxIterations(), terminationReason, reheats, best.getFitness());
+        return best;
+    }
+
+    /** Proposes one random move and applies it if the Metropolis criterion accepts it. */
+    private void step(ScheduleChromosome current, double temperature) {
+        int slot = random.nextInt(current.size());
+        int employee = current.get(slot);
+        if (employee != ScheduleChromosome.UNASSIGNED && random.nextBoolean()) {
+            int other = randomSameDaySlot(slot);
+            if (other < 0) return;
+            int otherEmployee = current.get(other);
+            if (otherEmployee == ScheduleChromosome.UNASSIGNED || otherEmployee == employee) return;
+            // Swap: apply both changes, revert if rejected
+            double before = current.getFitness();
+            fitnessCalculator.applyChange(current, slot, otherEmployee);
+            double after = fitnessCalculator.applyChange(current, other, employee);
+            if (!accept(after - before, temperature)) {
+                fitnessCalculator.applyChange(current, other, otherEmployee);
+                fitnessCalculator.applyChange(current, slot, employee);
+            }
+            return;
+        }
+        int[] candidates = eligibility.eligible(slot);
+        int pick = random.nextInt(candidates.length + 1);
+        int candidate = pick == candidates.length ? ScheduleChromosome.UNASSIGNED : candidates[pick];
+        if (candidate == employee) return;
+        if (accept(fitnessCalculator.deltaForChange(current, slot, candidate), temperature)) {
+            fitnessCalculator.applyChange(current, slot, candidate);
+        }
+    }
+
+    private boolean accept(double delta, double temperature) {
+        return delta <= 0 || (temperature > 0 && random.nextDouble() < Math.exp(-delta / temperature));
+    }
+
+    /** A random other slot on the same day as {@code slot}, or -1 if the day has no other slot. */
+    private int randomSameDaySlot(int slot) {
+        int day = slotTable.dayIndex(slot);
+        if (day < 0 || day >= slotTable.dayCount()) return -1;
+        int from = slotTable.dayStart(day);
+        int daySlots = slotTable.dayEnd(day) - from;
+        if (daySlots < 2) return -1;
+        int other = from + random.nextInt(daySlots - 1);
+        return other >= slot ? other + 1 : other;
+    }
+
+    /**
+     * Initial temperature at which the average worsening single-gene move is accepted with probability 1/2,
+     * estimated from random moves on the starting schedule (which is not modified).
+     */
+    private double calibrateTemperature(ScheduleChromosome current) {
+        double worsening = 0;
+        int count = 0;
+        for (int i = 0; i < CALIBRATION_SAMPLES && current.size() > 0; i++) {
+            int slot = random.nextInt(current.size());
+            int[] candidates = eligibility.eligible(slot);
+            int pick = random.nextInt(candidates.length + 1);
+            int candidate = pick == candidates.length ? ScheduleChromosome.UNASSIGNED : candidates[pick];
+            double delta = fitnessCalculator.deltaForChange(current, slot, candidate);
+            if (delta > 0) {
+                worsening += delta;
+                count++;
+            }
+        }
+        double temperature = count > 0 ? (worsening / count) / Math.log(2) : 1.0;
+        return Math.max(temperature, settings.minTemperature());
+    }
+}
@@ -0,0 +1,253 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Skill-cluster decomposition: splits a problem into independent subproblems along the bipartite graph that links
+ * each employee to the tasks whose required skills they hold. Every connected component (a group of tasks and the
+ * only employees able to do them, e.g. kitchen vs. front of house) is solved as its own {@link RosterProblem},
+ * concurrently on the evaluation pool, and the assignments are merged.
+ * <p>
+ * The split does not change what is optimal: an employee's penalties only depend on their own slots and a slot's
+ * coverage only on its assignees, and assigning an employee outside their component always breaks the skill
+ * constraint. Slots no employee has the skills for (and slots without task) are left unassigned, as assigning
+ * anyone would cost a hard-constraint penalty.
+ * <p>
+ * The merged schedule is re-scored on the whole problem.
+ */
+public final class SkillClusterDecomposer {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillClusterDecomposer.class);
+
+    private final ForkJoinPool pool; // Null solves the clusters one after the other on the calling thread
+
+    /** @param pool Pool the clusters are solved on concurrently, or {@code null} to solve them sequentially. */
+    public SkillClusterDecomposer(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /** Employees and slots of one connected component, as ascending indices into the whole problem. */
+    record Cluster(int[] employees, int[] slots) {}
+
+    /**
+     * Connected components of the employee-task skill graph that have both slots and employees, largest first
+     * (by slot count, then by first slot ordinal, so the order is deterministic).
+     */
+    static List<Cluster> clusters(FitnessCalculator fitnessCalculator) {
+        int employeeCount = fitnessCalculator.employeeCount();
+        int taskCount = fitnessCalculator.taskCount();
+        int[] parent = new int[employeeCount + taskCount]; // Union-find: employees first, then tasks
+        for (int i = 0; i < parent.length; i++) parent[i] = i;
+        for (int t = 0; t < taskCount; t++) {
+            for (int e = 0; e < employeeCount; e++) {
+                if (fitnessCalculator.hasSkillsForTask(e, t)) {
+                    union(parent, e, employeeCount + t);
+                }
+            }
+        }
+
+        SlotTable slotTable = fitnessCalculator.getSlotTable();
+        int[] employeesPerRoot = new int[parent.length];
+        int[] slotsPerRoot = new int[parent.length];
+        for (int e = 0; e < employeeCount; e++) employeesPerRoot[find(parent, e)]++;
+        for (int s = 0; s < slotTable.size(); s++) {
+            int task = fitnessCalculator.taskIndex(s);
+            if (task >= 0) slotsPerRoot[find(parent, employeeCount + task)]++;
+        }
+
+        List<Cluster> clusters = new ArrayList<>();
+        int[] clusterOfRoot = new int[parent.length];
+        Arrays.fill(clusterOfRoot, -1);
+        List<int[]> employeeLists = new ArrayList<>();
+        List<int[]> slotLists = new ArrayList<>();
+        int[] employeeFill = new int[parent.length];
+        int[] slotFill = new int[parent.length];
+        for (int s = 0; s < slotTable.size(); s++) { // Clusters numbered by first slot, ordinals stay ascending
+            int task = fitnessCalculator.taskIndex(s);
+            if (task < 0) continue;
+            int root = find(parent, employeeCount + task);
+            if (employeesPerRoot[root] == 0) continue; // Nobody has the skills: leave unassigned
+            if (clusterOfRoot[root] < 0) {
+                clusterOfRoot[root] = employeeLists.size();
+                employeeLists.add(new int[employeesPerRoot[root]]);
+                slotLists.add(new int[slotsPerRoot[root]]);
+            }
+            slotLists.get(clusterOfRoot[root])[slotFill[root]++] = s;
+        }
+        for (int e = 0; e < employeeCount; e++) {
+            int root = find(parent, e);
+            if (clusterOfRoot[root] >= 0) {
+                employeeLists.get(clusterOfRoot[root])[employeeFill[root]++] = e;
+            }
+        }
+        for (int c = 0; c < employeeLists.size(); c++) {
+            clusters.add(new Cluster(employeeLists.get(c), slotLists.get(c)));
+        }
+        clusters.sort(Comparator.comparingInt((Cluster c) -> -c.slots().length).thenComparingInt(c -> c.slots()[0]));
+        return clusters;
+    }
+
+    /**
+     * Wraps the solver so that problems with several skill clusters are solved per cluster and others directly.
+     * The wrapper keeps the solver's name.
+     */
+    public RosterSolver around(RosterSolver solver) {
+        return new RosterSolver() {
+            @Override
+            public String name() {
+                return solver.name();
+            }
+
+            @Override
+            public SolverResult solve(RosterProblem problem, long seed, Deadline deadline) {
+                return SkillClusterDecomposer.this.solve(solver, problem, seed, deadline);
+            }
+        };
+    }
+
+    /**
+     * Solves the problem per skill cluster, or directly with the solver if it does not split.
+     *
+     * @param solver   Solver run on every cluster.
+     * @param problem  The whole problem.
+     * @param seed     Seed of the run; each cluster gets its own seed derived from it.
+     * @param deadline Deadline of the whole run; concurrent clusters share it, sequential ones get an equal share
+     *                 of the time left.
+     * @return The merged schedule. Iterations and their maximum are those of the cluster that ran longest (the
+     *         clusters run side by side, each up to the solver's own maximum), cache counters are summed.
+     */
+    public SolverResult solve(RosterSolver solver, RosterProblem problem, long seed, Deadline deadline) {
+        FitnessCalculator fitnessCalculator = problem.fitnessCalculator();
+        List<Cluster> clusters = clusters(fitnessCalculator);
+        int slotCount = problem.slotTable().size();
+        if (clusters.size() == 1 && clusters.get(0).slots().length == slotCount
+                && clusters.get(0).employees().length == fitnessCalculator.employeeCount()) {
+            return solver.solve(problem, seed, deadline); // One component holding everything: nothing to split
+        }
+        log.info("Skill clusters: {} independent subproblems ({} slots, {} employees; largest {} slots, {} employees)",
+                clusters.size(), slotCount, fitnessCalculator.employeeCount(),
+                clusters.isEmpty() ? 0 : clusters.get(0).slots().length, clusters.isEmpty() ? 0 : clusters.get(0).employees().length);
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Callable<SolverResult>> tasks = new ArrayList<>(clusters.size());
+        for (int c = 0; c < clusters.size(); c++) {
+            Cluster cluster = clusters.get(c);
+            long clusterSeed = seeds.nextLong();
+            int clustersLeft = clusters.size() - c;
+            tasks.add(() -> solver.solve(subproblem(problem, cluster), clusterSeed,
+                    pool != null ? deadline : shareOf(deadline, clustersLeft)));
+        }
+        List<SolverResult> results = new ArrayList<>(tasks.size());
+        if (pool == null || tasks.size() < 2) {
+            for (Callable<SolverResult> task : tasks) {
+                results.add(call(task));
+            }
+        } else {
+            for (Future<SolverResult> future : pool.invokeAll(tasks)) {
+                try {
+                    results.add(future.get());
+                } catch (Exception e) {
+                    throw new IllegalStateException("Skill cluster solve failed", e);
+                }
+            }
+        }
+
+        // Merge: cluster-local employee and slot indices back to the whole problem's
+        int[] genes = new int[slotCount];
+        Arrays.fill(genes, ScheduleChromosome.UNASSIGNED);
+        int iterations = 0;
+        int maxIterations = 0;
+        long cacheLookups = 0;
+        long cacheHits = 0;
+        int reheats = 0;
+        boolean outOfTime = false;
+        for (int c = 0; c < clusters.size(); c++) {
+            Cluster cluster = clusters.get(c);
+            SolverResult result = results.get(c);
+            ScheduleChromosome assignment = result.assignment();
+            for (int i = 0; i < cluster.slots().length; i++) {
+                int employee = assignment.get(i);
+                genes[cluster.slots()[i]] = employee == ScheduleChromosome.UNASSIGNED ? employee : cluster.employees()[employee];
+            }
+            iterations = Math.max(iterations, result.iterations());
+            maxIterations = Math.max(maxIterations, result.maxIterations());
+            cacheLookups += result.fitnessCacheLookups();
+            cacheHits += result.fitnessCacheHits();
+            reheats += result.reheats();
+            outOfTime |= result.terminationReason() == TerminationReason.TIME_BUDGET;
+            log.debug("Skill cluster {} ({} slots, {} employees): fitness {} ({})", c + 1, cluster.slots().length,
+                    cluster.employees().length, assignment.getFitness(), result.terminationReason());
+        }
+        ScheduleChromosome best = new ScheduleChromosome(genes);
+        best.setFitness(fitnessCalculator.calculateFitness(best)); // Score on the whole problem
+        TerminationReason reason = outOfTime ? TerminationReason.TIME_BUDGET
+                : results.isEmpty() ? TerminationReason.LOWER_BOUND : results.get(0).terminationReason(); // Largest cluster
+        log.info("Skill clusters merged: fitness {}", best.getFitness());
+        return new SolverResult(best, iterations, maxIterations, reason, cacheLookups, cacheHits, reheats);
+    }
+
+    /** The problem restricted to the cluster's employees and slots (indices re-numbered densely). */
+    private static RosterProblem subproblem(RosterProblem problem, Cluster cluster) {
+        SlotTable slotTable = problem.slotTable();
+        List<RequiredShiftSlot> slots = new ArrayList<>(cluster.slots().length);
+        for (int s : cluster.slots()) {
+            // Ascending ordinals keep the table's order, so sub ordinal i is cluster.slots()[i]. The seats of a slot
+            // share its task and so its cluster: add the slot once, the sub table expands it into the same seats.
+            if (slotTable.seat(s) == 0) {
+                slots.add(slotTable.slot(s));
+            }
+        }
+        List<Employee> employees = new ArrayList<>(cluster.employees().length);
+        List<EmployeeConstraintProfile> profiles = new ArrayList<>(cluster.employees().length);
+        List<CarryOver> carryOver = new ArrayList<>(cluster.employees().length);
+        HorizonWindow window = problem.window();
+        for (int e : cluster.employees()) {
+            employees.add(problem.employees().get(e));
+            profiles.add(problem.profiles().get(e));
+            carryOver.add(window.carryOver(e));
+        }
+        SlotTable clusterSlots = new SlotTable(slots, slotTable.startDate(), slotTable.startDate().plusDays(slotTable.dayCount() - 1));
+        return new RosterProblem(employees, profiles, clusterSlots, problem.skillIndex(),
+                problem.penalties(), new HorizonWindow(carryOver, window.minHoursShare(), window.last()),
+                problem.coverageCurve()); // Only the demand of the cluster's tasks is scored
+    }
+
+    private static Deadline shareOf(Deadline deadline, int parts) {
+        return deadline.isSet() ? Deadline.after(Math.max(1, deadline.remainingMillis() / parts)) : Deadline.NONE;
+    }
+
+    private static SolverResult call(Callable<SolverResult> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Skill cluster solve failed", e);
+        }
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]]; // Path halving
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) parent[rootB] = rootA;
+    }
+}
@@ -0,0 +1,133 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Employee;
+import com.simpleroster.routegenerator.entity.Skill;
+import com.simpleroster.routegenerator.entity.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Assigns every known skill a dense ordinal so skill sets can be represented as {@code long[]} bitmasks.
+ * "Has all required skills" then becomes a word-wise AND instead of {@code Set.containsAll}
+ * (which hashes each Skill by name through a possibly lazy Hibernate collection).
+ * <p>
+ * Instances are immutable and safe to share between threads. Skills are keyed by name, matching
+ * {@link Skill}'s business-key equality; ordinals follow name order so they are stable for a given skill set.
+ * <p>
+ * An index is built per generation run from the employees and tasks the run loaded ({@link #of(Collection, Collection)}),
+ * so it always knows every skill the run matches. Should a required skill still be unknown, {@link #requiredMask}
+ * marks it with a reserved bit no skill mask has, so nobody qualifies: an unknown requirement fails closed.
+ */
+public final class SkillIndex {
+
+    private final Map<String, Integer> ordinals;
+    private final int words;
+
+    private SkillIndex(Map<String, Integer> ordinals) {
+        this.ordinals = ordinals;
+        this.words = (ordinals.size() + 1 + 63) >>> 6; // One bit per skill plus the reserved unknown-skill bit
+    }
+
+    /** Builds an index over the skills the employees hold and the tasks require. */
+    public static SkillIndex of(Collection<Employee> employees, Collection<Task> tasks) {
+        List<Skill> skills = new ArrayList<>();
+        for (Employee employee : employees) {
+            if (employee.getSkills() != null) skills.addAll(employee.getSkills());
+        }
+        for (Task task : tasks) {
+            if (task != null && task.getRequiredSkills() != null) skills.addAll(task.getRequiredSkills());
+        }
+        return of(skills);
+    }
+
+    /** Builds an index over the given skills (duplicates and skills without a name are ignored). */
+    public static SkillIndex of(Collection<Skill> skills) {
+        TreeSet<String> distinct = new TreeSet<>();
+        for (Skill skill : skills) {
+            if (skill != null && skill.getName() != null) {
+                distinct.add(skill.getName());
+            }
+        }
+        List<String> names = new ArrayList<>(distinct);
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            ordinals.put(names.get(i), i);
+        }
+        return new SkillIndex(Map.copyOf(ordinals));
+    }
+
+    /** Number of indexed skills. */
+    public int size() {
+        return ordinals.size();
+    }
+
+    /** Dense ordinal of the skill, or -1 if it is not part of this index. */
+    public int ordinal(Skill skill) {
+        Integer ordinal = skill != null && skill.getName() != null ? ordinals.get(skill.getName()) : null;
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * Bitmask of the skills someone holds. Skills unknown to this index are ignored, since no requirement can
+     * ask for them.
+     *
+     * @param skills Skill set (may be null, which yields an empty mask).
+     * @return A new mask with one bit per skill ordinal.
+     */
+    public long[] mask(Collection<Skill> skills) {
+        long[] mask = new long[words];
+        if (skills != null) {
+            for (Skill skill : skills) {
+                int ordinal = ordinal(skill);
+                if (ordinal >= 0) {
+                    mask[ordinal >>> 6] |= 1L << ordinal;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Bitmask of the skills a task requires. A skill unknown to this index sets the reserved unknown-skill bit,
+     * which no {@link #mask} has, so the requirement cannot be satisfied instead of being silently dropped.
+     *
+     * @param skills Required skills (may be null, which yields an empty mask).
+     * @return A new mask with one bit per skill ordinal.
+     */
+    public long[] requiredMask(Collection<Skill> skills) {
+        long[] mask = mask(skills);
+        if (skills != null) {
+            for (Skill skill : skills) {
+                if (ordinal(skill) < 0) {
+                    int unknown = ordinals.size();
+                    mask[unknown >>> 6] |= 1L << unknown;
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /** Whether {@code available} contains every bit of {@code required}. Both masks must come from the same index. */
+    public static boolean containsAll(long[] available, long[] required) {
+        for (int w = 0; w < required.length; w++) {
+            if ((required[w] & ~available[w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Whether the mask has no skills set. */
+    public static boolean isEmpty(long[] mask) {
+        for (long word : mask) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+}
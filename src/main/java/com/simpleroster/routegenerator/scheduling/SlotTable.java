@@ -0,0 +1,175 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Task;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Shared, immutable metadata for the required shift slots of one generation run.
+ * A chromosome gene at index {@code i} always refers to slot ordinal {@code i} of this table,
+ * so the per-slot data (day, times, task) lives here once instead of being carried by every chromosome.
+ * <p>
+ * A required slot whose task needs several employees expands into {@link #seatsFor seats}, one gene (ordinal) per
+ * employee. The seats of a slot are consecutive ordinals and share the slot's descriptor: the per-ordinal accessors
+ * resolve the ordinal to its slot index ({@link #slotIndex}) and read the slot's data, so a slot with ten seats
+ * costs ten ints, not ten copies of its metadata.
+ * <p>
+ * Slots are stored sorted by date and then start time. This lets the fitness calculator walk
+ * an employee's assignments in chronological order simply by visiting slot ordinals in increasing order.
+ */
+public final class SlotTable {
+
+    private final List<RequiredShiftSlot> slots; // Indexed by slot index (one entry per required slot)
+    private final LocalDate startDate;
+    private final int dayCount;
+    private final int[] firstSeat;     // Per slot index: first ordinal of its seats; firstSeat[slotCount] = size
+    private final int[] slotOf;        // Per ordinal: slot index
+    private final int[] dayIndex;      // Per slot index: days since startDate
+    private final int[] startMinute;   // Per slot index: minutes since midnight
+    private final int[] endMinute;     // Per slot index: minutes since midnight
+    private final DayOfWeek[] dayOfWeek; // Per slot index
+    private final boolean[] weekendDay; // Indexed by day index, not slot ordinal
+    private final int[] dayFrom;        // First slot ordinal of each day index (slots are sorted by date)
+    private final int[] dayTo;          // Exclusive end; dayFrom == dayTo for a day without slots
+
+    public SlotTable(List<RequiredShiftSlot> requiredSlots, LocalDate startDate, LocalDate endDate) {
+        List<RequiredShiftSlot> sorted = new ArrayList<>(requiredSlots);
+        sorted.sort(Comparator.comparing(RequiredShiftSlot::date).thenComparing(RequiredShiftSlot::startTime)); // Stable
+        this.slots = Collections.unmodifiableList(sorted);
+        this.startDate = startDate;
+        this.dayCount = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+
+        int n = sorted.size();
+        this.firstSeat = new int[n + 1];
+        this.dayIndex = new int[n];
+        this.startMinute = new int[n];
+        this.endMinute = new int[n];
+        this.dayOfWeek = new DayOfWeek[n];
+        for (int i = 0; i < n; i++) {
+            RequiredShiftSlot slot = sorted.get(i);
+            firstSeat[i + 1] = firstSeat[i] + seatsFor(slot);
+            dayIndex[i] = (int) ChronoUnit.DAYS.between(startDate, slot.date());
+            startMinute[i] = EmployeeConstraintProfile.toMinutes(slot.startTime());
+            endMinute[i] = EmployeeConstraintProfile.toMinutes(slot.endTime());
+            dayOfWeek[i] = slot.date().getDayOfWeek();
+        }
+        this.slotOf = new int[firstSeat[n]];
+        for (int i = 0; i < n; i++) {
+            for (int s = firstSeat[i]; s < firstSeat[i + 1]; s++) {
+                slotOf[s] = i;
+            }
+        }
+
+        this.weekendDay = new boolean[Math.max(dayCount, 0)];
+        for (int d = 0; d < weekendDay.length; d++) {
+            DayOfWeek day = startDate.plusDays(d).getDayOfWeek();
+            weekendDay[d] = day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+        }
+
+        this.dayFrom = new int[weekendDay.length];
+        this.dayTo = new int[weekendDay.length];
+        for (int i = n - 1; i >= 0; i--) {
+            int d = dayIndex[i];
+            if (d < 0 || d >= dayFrom.length) continue;
+            if (dayTo[d] == 0) dayTo[d] = firstSeat[i + 1];
+            dayFrom[d] = firstSeat[i];
+        }
+    }
+
+    /** Number of seats (genes) the slot expands into: its optimal coverage, at least its minimum and at least one. */
+    public static int seatsFor(RequiredShiftSlot slot) {
+        return Math.max(1, Math.max(slot.minimumCoverage(), slot.optimalCoverage()));
+    }
+
+    /** Number of slot ordinals (seats), which is also the chromosome length. */
+    public int size() {
+        return slotOf.length;
+    }
+
+    /** Number of required slots; at most {@link #size()}. */
+    public int slotCount() {
+        return slots.size();
+    }
+
+    /** Index of the required slot (in {@link #slots()}) the ordinal is a seat of. */
+    public int slotIndex(int ordinal) {
+        return slotOf[ordinal];
+    }
+
+    /** Position of the ordinal among the seats of its slot (0 for the first seat). */
+    public int seat(int ordinal) {
+        return ordinal - firstSeat[slotOf[ordinal]];
+    }
+
+    /** Required slot the ordinal is a seat of. */
+    public RequiredShiftSlot slot(int ordinal) {
+        return slots.get(slotOf[ordinal]);
+    }
+
+    /** The required slots, one entry per slot (not per seat), in table order. */
+    public List<RequiredShiftSlot> slots() {
+        return slots;
+    }
+
+    /**
+     * The required slots whose seats are the ordinals {@code from} (inclusive) to {@code to} (exclusive).
+     * Both bounds must fall on slot boundaries, as day boundaries do; a table built from the result then numbers
+     * the seats the same way, shifted by {@code from}.
+     */
+    public List<RequiredShiftSlot> slots(int from, int to) {
+        int fromSlot = from < size() ? slotOf[from] : slotCount();
+        int toSlot = to < size() ? slotOf[to] : slotCount();
+        return slots.subList(fromSlot, toSlot);
+    }
+
+    public Task task(int ordinal) {
+        return slots.get(slotOf[ordinal]).task();
+    }
+
+    public LocalDate startDate() {
+        return startDate;
+    }
+
+    /** Number of calendar days in the scheduling period. */
+    public int dayCount() {
+        return dayCount;
+    }
+
+    public int dayIndex(int ordinal) {
+        return dayIndex[slotOf[ordinal]];
+    }
+
+    public int startMinute(int ordinal) {
+        return startMinute[slotOf[ordinal]];
+    }
+
+    public int endMinute(int ordinal) {
+        return endMinute[slotOf[ordinal]];
+    }
+
+    public DayOfWeek dayOfWeek(int ordinal) {
+        return dayOfWeek[slotOf[ordinal]];
+    }
+
+    /** First slot ordinal of the day (day index), for iterating a day's slots up to {@link #dayEnd}. */
+    public int dayStart(int day) {
+        return dayFrom[day];
+    }
+
+    /** Exclusive end of the day's slot ordinals; equals {@link #dayStart} if the day has no slots. */
+    public int dayEnd(int day) {
+        return dayTo[day];
+    }
+
+    /** Whether the slot falls on a Saturday or Sunday. Slots outside the period are treated as weekdays. */
+    public boolean isWeekend(int ordinal) {
+        int d = dayIndex[slotOf[ordinal]];
+        return d >= 0 && d < weekendDay.length && weekendDay[d];
+    }
+}
@@ -0,0 +1,28 @@
+package com.simpleroster.routegenerator.scheduling;
+
+/**
+ * Outcome of a {@link RosterSolver} run.
+ *
+ * @param assignment        Best schedule found: employee index (into {@link RosterProblem#employees()}) per slot ordinal,
+ *                          with its fitness.
+ * @param iterations        Generations (GA) or iterations (local-search solvers) completed.
+ * @param maxIterations     Configured maximum number of generations or iterations.
+ * @param terminationReason Criterion that ended the run.
+ * @param fitnessCacheLookups Evaluations looked up in a fitness cache (0 for solvers without one).
+ * @param fitnessCacheHits    Evaluations the cache answered, i.e. that were skipped.
+ * @param reheats             Times simulated annealing raised its temperature again (0 for the other solvers).
+ */
+public record SolverResult(ScheduleChromosome assignment, int iterations, int maxIterations, TerminationReason terminationReason,
+                           long fitnessCacheLookups, long fitnessCacheHits, int reheats) {
+
+    /** Result of a solver that does not reheat. */
+    public SolverResult(ScheduleChromosome assignment, int iterations, int maxIterations, TerminationReason terminationReason,
+                        long fitnessCacheLookups, long fitnessCacheHits) {
+        this(assignment, iterations, maxIterations, terminationReason, fitnessCacheLookups, fitnessCacheHits, 0);
+    }
+
+    /** Result of a solver without a fitness cache. */
+    public SolverResult(ScheduleChromosome assignment, int iterations, int maxIterations, TerminationReason terminationReason) {
+        this(assignment, iterations, maxIterations, terminationReason, 0, 0);
+    }
+}
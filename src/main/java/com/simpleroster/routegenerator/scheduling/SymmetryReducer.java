@@ -0,0 +1,201 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Symmetry reduction for workforces with many interchangeable employees (same skills, compiled availability and
+ * preferences, constraint parameters and carry-over, see {@link FitnessCalculator#interchangeable}). Swapping the
+ * complete schedules of two such employees never changes the fitness, so without reduction the GA spends its
+ * population on permutations of the same roster.
+ * <p>
+ * The employees are grouped into equivalence classes. {@link #canonicalize} treats only the class of each gene as
+ * the search decision: it walks the slots in chronological order and hands every slot of a class to a concrete
+ * member with a balancing rule that follows the hour and day limits of the class (see {@link #pickMember}).
+ * Chromosomes with the same class-level assignment therefore decode
+ * to the same roster, which also makes them hits in the fitness memo.
+ * <p>
+ * Holds only immutable lookup tables, so one instance can serve all islands concurrently.
+ */
+final class SymmetryReducer {
+
+    private static final Logger log = LoggerFactory.getLogger(SymmetryReducer.class);
+
+    private final FitnessCalculator fitnessCalculator;
+    private final SlotTable slotTable;
+    private final int[] classOf;          // Per employee: class index, or -1 for an employee without twins
+    private final int[][] members;        // Per class: member employee indices, ascending
+    private final int[] maxConsecutive;   // Per class
+    private final long[] minMinutes;      // Per class: minimum total minutes due by the end of the period
+    private final long[] maxMinutes;      // Per class: maximum total minutes
+    private final int[] initialStreak;    // Per class: consecutive days carried into the period
+    private final int[] initialLastDay;   // Per class: last worked day before the period, or Integer.MIN_VALUE
+    private final long[] initialMinutes;  // Per class: minutes carried into the period
+
+    private SymmetryReducer(FitnessCalculator fitnessCalculator, int[] classOf, int[][] members) {
+        this.fitnessCalculator = fitnessCalculator;
+        this.slotTable = fitnessCalculator.getSlotTable();
+        this.classOf = classOf;
+        this.members = members;
+        this.maxConsecutive = new int[members.length];
+        this.minMinutes = new long[members.length];
+        this.maxMinutes = new long[members.length];
+        this.initialStreak = new int[members.length];
+        this.initialLastDay = new int[members.length];
+        this.initialMinutes = new long[members.length];
+        for (int c = 0; c < members.length; c++) {
+            int first = members[c][0];
+            CarryOver carryOver = fitnessCalculator.carryOver(first);
+            maxConsecutive[c] = fitnessCalculator.maxConsecutiveDays(first);
+            minMinutes[c] = fitnessCalculator.minTotalMinutes(first);
+            maxMinutes[c] = fitnessCalculator.maxTotalMinutes(first);
+            initialStreak[c] = carryOver.consecutiveWorkDays();
+            initialLastDay[c] = carryOver.lastWorkDay();
+            initialMinutes[c] = carryOver.totalMinutes();
+        }
+    }
+
+    /**
+     * Groups the employees of the fitness calculator into classes of interchangeable employees.
+     *
+     * @return The reducer, or {@code null} if no two employees are interchangeable (nothing to reduce).
+     */
+    static SymmetryReducer create(FitnessCalculator fitnessCalculator) {
+        int employeeCount = fitnessCalculator.employeeCount();
+        Map<Integer, List<List<Integer>>> buckets = new HashMap<>();
+        List<List<Integer>> groups = new ArrayList<>();
+        for (int e = 0; e < employeeCount; e++) {
+            List<List<Integer>> bucket = buckets.computeIfAbsent(fitnessCalculator.interchangeableHash(e), k -> new ArrayList<>());
+            List<Integer> group = null;
+            for (List<Integer> candidate : bucket) {
+                if (fitnessCalculator.interchangeable(candidate.get(0), e)) {
+                    group = candidate;
+                    break;
+                }
+            }
+            if (group == null) {
+                group = new ArrayList<>();
+                bucket.add(group);
+                groups.add(group);
+            }
+            group.add(e);
+        }
+
+        int[] classOf = new int[employeeCount];
+        Arrays.fill(classOf, -1);
+        List<int[]> members = new ArrayList<>();
+        int largest = 0;
+        for (List<Integer> group : groups) {
+            if (group.size() < 2) continue;
+            for (int e : group) {
+                classOf[e] = members.size();
+            }
+            members.add(group.stream().mapToInt(Integer::intValue).toArray());
+            largest = Math.max(largest, group.size());
+        }
+        if (members.isEmpty()) {
+            log.info("Symmetry reduction: no interchangeable employees among {}, disabled.", employeeCount);
+            return null;
+        }
+        log.info("Symmetry reduction: {} employees in {} distinct profiles, {} classes with twins (largest {}).",
+                employeeCount, groups.size(), members.size(), largest);
+        return new SymmetryReducer(fitnessCalculator, classOf, members.toArray(new int[0][]));
+    }
+
+    /**
+     * Reassigns every slot held by a class member to the member the balancing rule picks, keeping the class of
+     * each gene. Changes go through {@link FitnessCalculator#applyChange}, so a chromosome carrying delta state stays
+     * evaluated; otherwise its fitness is invalidated by the changed genes.
+     *
+     * @param chromosome Chromosome to bring into canonical form, modified in place.
+     * @return The number of genes changed.
+     */
+    int canonicalize(ScheduleChromosome chromosome) {
+        int employeeCount = classOf.length;
+        long[] minutes = new long[employeeCount];
+        int[] lastDay = new int[employeeCount];
+        int[] streak = new int[employeeCount];
+        for (int c = 0; c < members.length; c++) {
+            for (int e : members[c]) {
+                minutes[e] = initialMinutes[c];
+                lastDay[e] = initialLastDay[c];
+                streak[e] = initialStreak[c];
+            }
+        }
+
+        int changed = 0;
+        for (int s = 0; s < chromosome.size(); s++) {
+            int employee = chromosome.get(s);
+            if (employee == ScheduleChromosome.UNASSIGNED || classOf[employee] < 0) continue;
+            int c = classOf[employee];
+            int day = slotTable.dayIndex(s);
+            int pick = pickMember(c, day, minutes, lastDay, streak);
+            if (lastDay[pick] != day) {
+                streak[pick] = lastDay[pick] == day - 1 ? streak[pick] + 1 : 1;
+                lastDay[pick] = day;
+            }
+            minutes[pick] += slotTable.endMinute(s) - slotTable.startMinute(s); // Counted as the fitness counts total hours
+            if (pick != employee) {
+                fitnessCalculator.applyChange(chromosome, s, pick);
+                changed++;
+            }
+        }
+        if (changed > 0) {
+            fitnessCalculator.syncFitness(chromosome); // No-op without delta state
+        }
+        return changed;
+    }
+
+    /**
+     * The member of class {@code c} to take a slot on {@code day}. Members that would be double-booked, or would
+     * extend their work block past the maximum consecutive days, come last. Among the rest the total hours decide,
+     * in the order the S6 penalty favours them (an employee without any shift is not scored at all):
+     * <ol>
+     *   <li>members already working but still below their minimum, the most loaded first,</li>
+     *   <li>members between minimum and maximum, the least loaded first,</li>
+     *   <li>members without any work yet,</li>
+     *   <li>members at or above their maximum, the least loaded first.</li>
+     * </ol>
+     * Remaining ties go to the lowest employee index.
+     */
+    private int pickMember(int c, int day, long[] minutes, int[] lastDay, int[] streak) {
+        int best = -1;
+        int bestRank = Integer.MAX_VALUE;
+        long bestKey = Long.MAX_VALUE;
+        for (int e : members[c]) {
+            int rank;
+            if (lastDay[e] == day) {
+                rank = 8; // Would be a double booking
+            } else if (lastDay[e] == day - 1 && streak[e] >= maxConsecutive[c]) {
+                rank = 4; // Would extend the block past the maximum
+            } else {
+                rank = 0;
+            }
+            long key;
+            if (minutes[e] >= maxMinutes[c]) {
+                rank += 3;
+                key = minutes[e];
+            } else if (minutes[e] == 0 && lastDay[e] == Integer.MIN_VALUE) {
+                rank += 2;
+                key = 0;
+            } else if (minutes[e] >= minMinutes[c]) {
+                rank += 1;
+                key = minutes[e];
+            } else {
+                key = -minutes[e];
+            }
+            if (rank < bestRank || (rank == bestRank && key < bestKey)) {
+                best = e;
+                bestRank = rank;
+                bestKey = key;
+            }
+        }
+        return best;
+    }
+}
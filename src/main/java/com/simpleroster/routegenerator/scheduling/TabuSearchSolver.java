@@ -0,0 +1,227 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+
+/**
+ * Single-trajectory tabu search, an alternative to the {@link GeneticAlgorithmEngine} for small and medium rosters.
+ * Starts from a {@link GreedySeeder} schedule and in every iteration applies the best of a random sample of moves:
+ * <ul>
+ *   <li>reassign a slot to another eligible employee, or unassign it,</li>
+ *   <li>swap the employees of two slots on the same day.</li>
+ * </ul>
+ * The best sampled move is applied even if it makes the schedule worse, which lets the search leave local optima.
+ * Moving a slot back to an employee it just left is tabu for {@code tenure} iterations, unless the move would
+ * produce a new best schedule (aspiration criterion).
+ * <p>
+ * Moves are scored with delta evaluation against the same {@link FitnessCalculator} the GA uses, so both solvers
+ * optimize exactly the same penalties.
+ */
+public class TabuSearchSolver {
+
+    private static final Logger log = LoggerFactory.getLogger(TabuSearchSolver.class);
+
+    private static final double IMPROVEMENT_EPSILON = 1e-9;
+    private static final int RESYNC_INTERVAL = 256; // Iterations between drift corrections of the running total
+
+    private final FitnessCalculator fitnessCalculator;
+    private final SlotTable slotTable;
+    private final int employeeCount;
+    private final EligibilityIndex eligibility;
+    private final GreedySeeder greedySeeder;
+    private final TabuSettings settings;
+    private final long seed;
+    private final SplittableRandom random;
+
+    // Outcome of the last run, for the run metrics
+    private int iterationsRun;
+    private TerminationReason terminationReason;
+
+    /**
+     * @param fitnessCalculator Fitness function of the run.
+     * @param settings          Tabu search parameters.
+     * @param seed              Seed for all random decisions of the run; the same seed and inputs replay the same run.
+     */
+    public TabuSearchSolver(FitnessCalculator fitnessCalculator, TabuSettings settings, long seed) {
+        this.fitnessCalculator = fitnessCalculator;
+        this.slotTable = fitnessCalculator.getSlotTable();
+        this.employeeCount = fitnessCalculator.employeeCount();
+        this.eligibility = new EligibilityIndex(fitnessCalculator);
+        this.greedySeeder = new GreedySeeder(fitnessCalculator, eligibility);
+        this.settings = settings;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Number of iterations the last {@link #run} completed. */
+    public int getIterationsRun() {
+        return iterationsRun;
+    }
+
+    /** Criterion that ended the last {@link #run}. */
+    public TerminationReason getTerminationReason() {
+        return terminationReason;
+    }
+
+    /**
+     * Runs the tabu search until the iteration limit, stagnation, a perfect schedule or the deadline.
+     *
+     * @param deadline Wall-clock deadline of the run, or {@link Deadline#NONE}.
+     * @return The best schedule found, fully evaluated.
+     */
+    public ScheduleChromosome run(Deadline deadline) {
+        ScheduleChromosome current = greedySeeder.build(random); // Evaluated, with delta state
+        int slotCount = current.size();
+        int stride = employeeCount + 1; // Tabu table columns: UNASSIGNED, then one per employee
+        int[] tabuUntil = new int[slotCount * stride];
+        int[] bestGenes = current.genes().clone();
+        double bestFitness = current.getFitness();
+        log.info("Tabu Run: seed {}, {} slots, tenure {}, neighborhood {}, initial fitness {}",
+                seed, slotCount, settings.tenure(), settings.neighborhoodSize(), bestFitness);
+
+        Move move = new Move();
+        int iteration = 0;
+        int lastImprovement = 0;
+        TerminationReason reason = (slotCount == 0 || bestFitness <= 0) ? TerminationReason.LOWER_BOUND : null;
+        while (reason == null) {
+            if (iteration >= settings.maxIterations()) {
+                reason = TerminationReason.MAX_GENERATIONS;
+                break;
+            }
+            if (deadline.expired()) {
+                reason = TerminationReason.TIME_BUDGET;
+                break;
+            }
+            iteration++;
+
+            sampleBestMove(current, tabuUntil, stride, iteration, bestFitness, move);
+            if (move.found()) {
+                apply(current, move, tabuUntil, stride, iteration);
+                if (iteration % RESYNC_INTERVAL == 0) {
+                    fitnessCalculator.syncFitness(current);
+                }
+                if (current.getFitness() < bestFitness - IMPROVEMENT_EPSILON) {
+                    fitnessCalculator.syncFitness(current);
+                    bestFitness = current.getFitness();
+                    System.arraycopy(current.genes(), 0, bestGenes, 0, slotCount);
+                    lastImprovement = iteration;
+                    if (bestFitness <= 0) {
+                        reason = TerminationReason.LOWER_BOUND;
+                    }
+                }
+            }
+            if (reason == null && settings.stagnationIterations() > 0
+                    && iteration - lastImprovement >= settings.stagnationIterations()) {
+                reason = TerminationReason.STAGNATION;
+            }
+            if (iteration % 1000 == 0) {
+                log.debug("Tabu iteration {}: current fitness {}, best fitness {}", iteration, current.getFitness(), bestFitness);
+            }
+        }
+        iterationsRun = iteration;
+        terminationReason = reason;
+
+        ScheduleChromosome best = new ScheduleChromosome(bestGenes);
+        best.setFitness(fitnessCalculator.calculateFitness(best)); // Exact score, free of delta rounding
+        log.info("Tabu Run Finished after {}/{} iterations ({}). Final Best Fitness: {}",
+                iterationsRun, settings.maxIterations(), terminationReason, best.getFitness());
+        return best;
+    }
+
+    /**
+     * Samples {@code neighborhoodSize} random moves and keeps the admissible one with the lowest delta in {@code best}.
+     * A move is admissible if it is not tabu, or if it would beat the best fitness found so far (aspiration).
+     */
+    private void sampleBestMove(ScheduleChromosome current, int[] tabuUntil, int stride, int iteration,
+                                double bestFitness, Move best) {
+        best.reset();
+        int slotCount = current.size();
+        double currentFitness = current.getFitness();
+        for (int k = 0; k < settings.neighborhoodSize(); k++) {
+            int slot = random.nextInt(slotCount);
+            int employee = current.get(slot);
+            double delta;
+            boolean tabu;
+            int other = -1;
+            int candidate;
+            if (employee != ScheduleChromosome.UNASSIGNED && random.nextBoolean()) {
+                // Swap with another assigned slot of the same day
+                int day = slotTable.dayIndex(slot);
+                if (day < 0 || day >= slotTable.dayCount()) continue;
+                int from = slotTable.dayStart(day);
+                int daySlots = slotTable.dayEnd(day) - from;
+                if (daySlots < 2) continue;
+                other = from + random.nextInt(daySlots - 1);
+                if (other >= slot) other++; // Any slot of the day except this one
+                candidate = current.get(other);
+                if (candidate == ScheduleChromosome.UNASSIGNED || candidate == employee) continue;
+                delta = swapDelta(current, slot, employee, other, candidate);
+                tabu = tabuUntil[slot * stride + candidate + 1] > iteration || tabuUntil[other * stride + employee + 1] > iteration;
+            } else {
+                // Reassign to an eligible employee or unassign
+                int[] eligible = eligibility.eligible(slot);
+                int pick = random.nextInt(eligible.length + 1);
+                candidate = pick == eligible.length ? ScheduleChromosome.UNASSIGNED : eligible[pick];
+                if (candidate == employee) continue;
+                delta = fitnessCalculator.deltaForChange(current, slot, candidate);
+                tabu = tabuUntil[slot * stride + candidate + 1] > iteration;
+            }
+            boolean aspiration = currentFitness + delta < bestFitness - IMPROVEMENT_EPSILON;
+            if ((!tabu || aspiration) && delta < best.delta) {
+                best.slot = slot;
+                best.employee = candidate;
+                best.otherSlot = other;
+                best.otherEmployee = employee;
+                best.delta = delta;
+            }
+        }
+    }
+
+    /** Fitness change of swapping the employees of two slots, measured by applying and reverting the swap. */
+    private double swapDelta(ScheduleChromosome chromosome, int slot, int employee, int other, int otherEmployee) {
+        double before = chromosome.getFitness();
+        fitnessCalculator.applyChange(chromosome, slot, otherEmployee);
+        double after = fitnessCalculator.applyChange(chromosome, other, employee);
+        fitnessCalculator.applyChange(chromosome, other, otherEmployee);
+        fitnessCalculator.applyChange(chromosome, slot, employee);
+        return after - before;
+    }
+
+    /** Applies the move and makes returning to the replaced assignments tabu. */
+    private void apply(ScheduleChromosome current, Move move, int[] tabuUntil, int stride, int iteration) {
+        int previous = current.get(move.slot);
+        fitnessCalculator.applyChange(current, move.slot, move.employee);
+        tabuUntil[move.slot * stride + previous + 1] = iteration + settings.tenure();
+        if (move.otherSlot >= 0) {
+            fitnessCalculator.applyChange(current, move.otherSlot, move.otherEmployee);
+            tabuUntil[move.otherSlot * stride + move.employee + 1] = iteration + settings.tenure();
+        }
+    }
+
+    /**
+     * Best move of an iteration: {@code slot} gets {@code employee}; for a swap ({@code otherSlot >= 0})
+     * {@code otherSlot} gets {@code otherEmployee}. Reused across iterations.
+     */
+    private static final class Move {
+        int slot;
+        int employee;
+        int otherSlot;
+        int otherEmployee;
+        double delta;
+
+        void reset() {
+            otherSlot = -1;
+            delta = Double.POSITIVE_INFINITY;
+        }
+
+        boolean found() {
+            return delta != Double.POSITIVE_INFINITY;
+        }
+    }
+}
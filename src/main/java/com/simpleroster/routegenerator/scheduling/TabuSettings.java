@@ -0,0 +1,12 @@
+package com.simpleroster.routegenerator.scheduling;
+
+/**
+ * Configuration of the {@link TabuSearchSolver}.
+ *
+ * @param tenure                 Iterations during which a reverted assignment (slot back to its previous employee)
+ *                               is tabu, unless it would give a new best schedule (aspiration).
+ * @param maxIterations          Maximum number of iterations (one applied move each).
+ * @param neighborhoodSize       Candidate moves sampled and evaluated per iteration.
+ * @param stagnationIterations   Stop when the best fitness has not improved for this many iterations; 0 disables.
+ */
+public record TabuSettings(int tenure, int maxIterations, int neighborhoodSize, int stagnationIterations) {}
@@ -0,0 +1,44 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Tracks the best fitness across generations and decides when the configured {@link TerminationSettings} fire.
+ * Used from a single thread (the island, or the coordinating thread in island mode).
+ */
+final class TerminationMonitor {
+
+    private final TerminationSettings settings;
+    private double bestFitness = Double.POSITIVE_INFINITY;
+    private int lastImprovementGeneration;
+
+    TerminationMonitor(TerminationSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Records the state after a generation and checks the criteria.
+     *
+     * @param generation  Generation just completed.
+     * @param fitness     Best fitness after that generation.
+     * @param diversity   Population diversity, only computed if the diversity criterion is enabled.
+     * @return The criterion that fired, or {@code null} to continue.
+     */
+    TerminationReason check(int generation, double fitness, DoubleSupplier diversity) {
+        if (fitness < bestFitness - settings.improvementEpsilon()) {
+            lastImprovementGeneration = generation;
+        }
+        bestFitness = Math.min(bestFitness, fitness);
+
+        if (fitness <= settings.lowerBound()) {
+            return TerminationReason.LOWER_BOUND;
+        }
+        if (settings.stagnationGenerations() > 0 && generation - lastImprovementGeneration >= settings.stagnationGenerations()) {
+            return TerminationReason.STAGNATION;
+        }
+        if (settings.minDiversity() > 0 && diversity.getAsDouble() < settings.minDiversity()) {
+            return TerminationReason.LOW_DIVERSITY;
+        }
+        return null;
+    }
+}
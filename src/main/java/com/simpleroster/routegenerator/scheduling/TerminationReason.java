@@ -0,0 +1,17 @@
+package com.simpleroster.routegenerator.scheduling;
+
+/**
+ * Why a GA run stopped.
+ */
+public enum TerminationReason {
+    /** Ran the configured maximum number of generations (iterations for tabu search and annealing). */
+    MAX_GENERATIONS,
+    /** Best fitness reached the configured lower bound (by default a perfect schedule). */
+    LOWER_BOUND,
+    /** Best fitness stopped improving for the configured number of generations. */
+    STAGNATION,
+    /** Population diversity fell below the configured threshold. */
+    LOW_DIVERSITY,
+    /** The wall-clock time budget ran out; the run returned the best schedule found so far. */
+    TIME_BUDGET
+}
@@ -0,0 +1,14 @@
+package com.simpleroster.routegenerator.scheduling;
+
+/**
+ * Early-termination criteria for the {@link GeneticAlgorithmEngine}, checked after every generation
+ * (after every migration epoch in island mode). {@code ga.max.generations} always remains the upper limit.
+ *
+ * @param stagnationGenerations Stop when the best fitness has not improved by more than {@code improvementEpsilon}
+ *                              for this many generations; 0 disables the criterion.
+ * @param improvementEpsilon    Minimum fitness decrease that counts as an improvement.
+ * @param minDiversity          Stop when the population diversity (mean share of differing genes between sampled
+ *                              pairs, 0.0 to 1.0) falls below this value; 0 disables the criterion.
+ * @param lowerBound            Stop as soon as the best fitness is at or below this value (0 = a perfect schedule).
+ */
+public record TerminationSettings(int stagnationGenerations, double improvementEpsilon, double minDiversity, double lowerBound) {}
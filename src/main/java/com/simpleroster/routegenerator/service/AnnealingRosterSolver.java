@@ -0,0 +1,61 @@
+package com.simpleroster.routegenerator.service;
+
+import com.simpleroster.routegenerator.scheduling.AnnealingSettings;
+import com.simpleroster.routegenerator.scheduling.Deadline;
+import com.simpleroster.routegenerator.scheduling.RosterProblem;
+import com.simpleroster.routegenerator.scheduling.RosterSolver;
+import com.simpleroster.routegenerator.scheduling.ScheduleChromosome;
+import com.simpleroster.routegenerator.scheduling.SimulatedAnnealingSolver;
+import com.simpleroster.routegenerator.scheduling.SolverResult;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs the {@link SimulatedAnnealingSolver} with the {@code sa.*} settings; the low-memory alternative to the GA.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnnealingRosterSolver implements RosterSolver {
+
+    public static final String NAME = "annealing";
+
+    private static final Logger log = LoggerFactory.getLogger(AnnealingRosterSolver.class);
+    private final ConfigurationService configurationService;
+
+    private static final String SA_INITIAL_TEMPERATURE = "sa.initial.temperature";
+    private static final String SA_COOLING_RATE = "sa.cooling.rate";
+    private static final String SA_MIN_TEMPERATURE = "sa.min.temperature";
+    private static final String SA_MAX_ITERATIONS = "sa.max.iterations";
+    private static final String SA_REHEAT_AFTER = "sa.reheat.after";
+    private static final String SA_REHEAT_FACTOR = "sa.reheat.factor";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public SolverResult solve(RosterProblem problem, long seed, Deadline deadline) {
+        AnnealingSettings settings = loadSettings();
+        SimulatedAnnealingSolver annealingSolver = new SimulatedAnnealingSolver(problem.fitnessCalculator(), settings, seed);
+        log.info("Starting Simulated Annealing execution (MaxIter: {}, Cooling: {}, Seed: {}, Time budget: {} ms)...",
+                settings.maxIterations(), settings.coolingRate(), seed, deadline.budgetMillis());
+        ScheduleChromosome best = annealingSolver.run(deadline);
+        return new SolverResult(best, annealingSolver.getIterationsRun(), settings.maxIterations(),
+                annealingSolver.getTerminationReason(), 0, 0, annealingSolver.getReheats());
+    }
+
+    /** Simulated annealing settings, loaded for every run. */
+    private AnnealingSettings loadSettings() {
+        return new AnnealingSettings(
+                // 0 (default) calibrates the starting temperature from the problem
+                Double.parseDouble(configurationService.getSettingOrDefault(SA_INITIAL_TEMPERATURE, "0")),
+                Double.parseDouble(configurationService.getSettingOrDefault(SA_COOLING_RATE, "0.9995")),
+                Double.parseDouble(configurationService.getSettingOrDefault(SA_MIN_TEMPERATURE, "0.01")),
+                Math.max(0, Integer.parseInt(configurationService.getSettingOrDefault(SA_MAX_ITERATIONS, "100000"))),
+                Math.max(0, Integer.parseInt(configurationService.getSettingOrDefault(SA_REHEAT_AFTER, "5000"))),
+                Double.parseDouble(configurationService.getSettingOrDefault(SA_REHEAT_FACTOR, "0.5")));
+    }
+}
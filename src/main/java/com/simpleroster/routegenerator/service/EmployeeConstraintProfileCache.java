@@ -0,0 +1,65 @@
+package com.simpleroster.routegenerator.service;
+
+import com.simpleroster.routegenerator.entity.Employee;
+import com.simpleroster.routegenerator.scheduling.EmployeeConstraintProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application-wide cache of compiled {@link EmployeeConstraintProfile}s.
+ * Profiles are compiled when an employee is saved (see EmployeeService) and looked up by
+ * ScheduleService before each generation run. Entries are keyed by employee id and validated
+ * against the employee's JPA version, so edits made outside EmployeeService (e.g. SQL imports)
+ * are picked up by recompiling on the next lookup.
+ */
+@Service
+public class EmployeeConstraintProfileCache {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeConstraintProfileCache.class);
+    private final Map<Long, EmployeeConstraintProfile> profiles = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the compiled profile for the employee, compiling it if missing or stale.
+     *
+     * @param employee The employee (must have an id).
+     * @return The compiled profile matching the employee's current version.
+     */
+    public EmployeeConstraintProfile getProfile(Employee employee) {
+        EmployeeConstraintProfile cached = profiles.get(employee.getId());
+        if (cached != null && Objects.equals(cached.getVersion(), employee.getVersion())) {
+            return cached;
+        }
+        log.debug("Constraint profile cache miss for employee {} (version {}).", employee.getId(), employee.getVersion());
+        return refresh(employee);
+    }
+
+    /**
+     * Compiles the employee's profile and stores it, replacing any previous entry.
+     * Should be called after the employee has been saved and flushed, so the version is current.
+     *
+     * @param employee The saved employee.
+     * @return The freshly compiled profile.
+     */
+    public EmployeeConstraintProfile refresh(Employee employee) {
+        EmployeeConstraintProfile profile = EmployeeConstraintProfile.compile(employee);
+        if (employee.getId() != null) {
+            profiles.put(employee.getId(), profile);
+        }
+        log.trace("Compiled constraint profile: {}", profile);
+        return profile;
+    }
+
+    /**
+     * Removes the cached profile of an employee.
+     *
+     * @param employeeId The employee id.
+     */
+    public void evict(Long employeeId) {
+        profiles.remove(employeeId);
+    }
+}
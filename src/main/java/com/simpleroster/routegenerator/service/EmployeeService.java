@@ -36,6 +36,7 @@ public class EmployeeService {
     private static final Logger log = LoggerFactory.getLogger(EmployeeService.class); // Add logger
     private final EmployeeRepository employeeRepository;
     private final SkillRepository skillRepository;
+    private final EmployeeConstraintProfileCache constraintProfileCache;
 
 
     /**
@@ -103,6 +104,7 @@ public class EmployeeService {
         Employee employee = mapToEntity(employeeDTO);
         employee.setActive(true); // New employees are active by default
         Employee savedEmployee = employeeRepository.save(employee);
+        constraintProfileCache.refresh(savedEmployee); // Compile availability/preferences once for the scheduler
         log.info("Employee '{}' created successfully with ID: {}", savedEmployee.getName(), savedEmployee.getId());
         return mapToDTO(savedEmployee);
     }
@@ -179,7 +181,9 @@ public class EmployeeService {
                     existingEmployee.addSkill(skillToAdd);
                 });
 
-        Employee updatedEmployee = employeeRepository.save(existingEmployee);
+        // Flush so the JPA version is bumped before the profile is compiled and keyed on it
+        Employee updatedEmployee = employeeRepository.saveAndFlush(existingEmployee);
+        constraintProfileCache.refresh(updatedEmployee);
         log.info("Employee {} updated successfully.", id);
         return mapToDTO(updatedEmployee);
     }
@@ -204,6 +208,7 @@ public class EmployeeService {
         }
         employee.setActive(false);
         employeeRepository.save(employee);
+        constraintProfileCache.evict(id); // Inactive employees are not scheduled; recompiled on demand if reactivated
         log.info("Employee {} deactivated successfully.", id);
         // Note: Consider implications - should future shifts be removed?
         // For now, just marking as inactive.
@@ -0,0 +1,102 @@
+package com.simpleroster.routegenerator.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Owns the dedicated ForkJoin pools used to evaluate GA populations in parallel (and to solve independent
+ * subproblems concurrently), instead of the JVM-wide common pool.
+ * <p>
+ * At most two pools are current: the shared pool with one worker per available processor, kept until shutdown,
+ * and a pool for a configured {@code ga.parallelism} that differs from it. When the configured parallelism
+ * changes, the previous pool is replaced and shut down once the last run that acquired it has released it, so a
+ * run still evaluating on it never has its work rejected.
+ */
+@Service
+public class GaEvaluationPool {
+
+    private static final Logger log = LoggerFactory.getLogger(GaEvaluationPool.class);
+
+    private ForkJoinPool sharedPool;     // One worker per available processor
+    private ForkJoinPool configuredPool; // Latest other parallelism asked for
+    private final Map<ForkJoinPool, Integer> runsUsing = new IdentityHashMap<>(); // Acquired pools, by runs holding them
+
+    /**
+     * Acquires the evaluation pool for the requested parallelism. Every pool acquired must be handed back
+     * with {@link #releasePool} when the run is done with it.
+     *
+     * @param parallelism Desired number of worker threads.
+     * @return The pool of that parallelism, or {@code null} if parallelism is 1 or less (evaluate sequentially).
+     */
+    public synchronized ForkJoinPool acquirePool(int parallelism) {
+        if (parallelism <= 1) {
+            return null;
+        }
+        ForkJoinPool pool;
+        if (parallelism == Runtime.getRuntime().availableProcessors()) {
+            pool = getSharedPool();
+        } else {
+            if (configuredPool == null || configuredPool.getParallelism() != parallelism) {
+                ForkJoinPool replaced = configuredPool;
+                log.info("Creating GA evaluation pool with parallelism {}", parallelism);
+                configuredPool = new ForkJoinPool(parallelism);
+                if (replaced != null && !runsUsing.containsKey(replaced)) {
+                    replaced.shutdown();
+                }
+            }
+            pool = configuredPool;
+        }
+        runsUsing.merge(pool, 1, Integer::sum);
+        return pool;
+    }
+
+    /**
+     * Hands back a pool acquired with {@link #acquirePool}. A pool that has been replaced in the meantime is shut
+     * down gracefully once no run holds it any more.
+     *
+     * @param pool The acquired pool ({@code null} is ignored).
+     */
+    public synchronized void releasePool(ForkJoinPool pool) {
+        if (pool == null) {
+            return;
+        }
+        Integer remaining = runsUsing.computeIfPresent(pool, (p, runs) -> runs > 1 ? runs - 1 : null);
+        if (remaining == null && pool != configuredPool && pool != sharedPool) {
+            log.info("Shutting down replaced GA evaluation pool with parallelism {}", pool.getParallelism());
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Returns the pool with one worker per available processor, for work that runs next to GA evaluations
+     * (e.g. solving independent subproblems concurrently) independently of the configured {@code ga.parallelism}.
+     * It is never replaced, so it needs no release. {@code null} on a single processor.
+     */
+    public synchronized ForkJoinPool getSharedPool() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (processors <= 1) {
+            return null;
+        }
+        if (sharedPool == null) {
+            log.info("Creating shared evaluation pool with parallelism {}", processors);
+            sharedPool = new ForkJoinPool(processors);
+        }
+        return sharedPool;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (sharedPool != null) sharedPool.shutdown();
+        if (configuredPool != null) configuredPool.shutdown();
+        runsUsing.keySet().forEach(ForkJoinPool::shutdown); // Replaced pools still held by a run
+        sharedPool = null;
+        configuredPool = null;
+        runsUsing.clear();
+    }
+}
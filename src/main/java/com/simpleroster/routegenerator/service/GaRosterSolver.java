@@ -0,0 +1,167 @@
+package com.simpleroster.routegenerator.service;
+
+import com.simpleroster.routegenerator.scheduling.AdaptiveRateSettings;
+import com.simpleroster.routegenerator.scheduling.CrossoverOperator;
+import com.simpleroster.routegenerator.scheduling.Deadline;
+import com.simpleroster.routegenerator.scheduling.GaSettings;
+import com.simpleroster.routegenerator.scheduling.GeneticAlgorithmEngine;
+import com.simpleroster.routegenerator.scheduling.IslandSettings;
+import com.simpleroster.routegenerator.scheduling.LocalSearchSettings;
+import com.simpleroster.routegenerator.scheduling.RosterProblem;
+import com.simpleroster.routegenerator.scheduling.RosterSolver;
+import com.simpleroster.routegenerator.scheduling.ScheduleChromosome;
+import com.simpleroster.routegenerator.scheduling.SolverResult;
+import com.simpleroster.routegenerator.scheduling.TerminationSettings;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The default solver: runs the {@link GeneticAlgorithmEngine} with the {@code ga.*} settings.
+ * Population evaluation (or the islands) runs on the shared {@link GaEvaluationPool}.
+ */
+@Service
+@RequiredArgsConstructor
+public class GaRosterSolver implements RosterSolver {
+
+    public static final String NAME = "ga";
+
+    private static final Logger log = LoggerFactory.getLogger(GaRosterSolver.class);
+    private final ConfigurationService configurationService;
+    private final GaEvaluationPool gaEvaluationPool;
+
+    // Define KEYS for configuration settings
+    private static final String GA_POPULATION_SIZE = "ga.population.size";
+    private static final String GA_MAX_GENERATIONS = "ga.max.generations";
+    private static final String GA_MUTATION_RATE = "ga.mutation.rate";
+    private static final String GA_CROSSOVER_RATE = "ga.crossover.rate";
+    private static final String GA_CROSSOVER_OPERATOR = "ga.crossover.operator";
+    private static final String GA_TOURNAMENT_SIZE = "ga.tournament.size";
+    private static final String GA_OUTSIDE_ELIGIBLE_RATE = "ga.eligibility.outside.rate";
+    private static final String GA_SEED_GREEDY_FRACTION = "ga.seed.greedy.fraction";
+    private static final String GA_DELTA_EVALUATION = "ga.evaluation.delta";
+    private static final String GA_REPAIR = "ga.repair.enabled";
+    private static final String GA_SYMMETRY_REDUCTION = "ga.symmetry.reduction";
+    private static final String GA_FITNESS_CACHE_SIZE = "ga.fitness.cache.size";
+    private static final String GA_PARALLELISM = "ga.parallelism";
+    private static final String GA_LOCAL_SEARCH_INTERVAL = "ga.local.search.interval";
+    private static final String GA_LOCAL_SEARCH_TOP_K = "ga.local.search.top.k";
+    private static final String GA_LOCAL_SEARCH_MOVE_BUDGET = "ga.local.search.move.budget";
+    private static final String GA_TERMINATION_STAGNATION_GENERATIONS = "ga.termination.stagnation.generations";
+    private static final String GA_TERMINATION_STAGNATION_EPSILON = "ga.termination.stagnation.epsilon";
+    private static final String GA_TERMINATION_MIN_DIVERSITY = "ga.termination.diversity.min";
+    private static final String GA_TERMINATION_LOWER_BOUND = "ga.termination.lower.bound";
+    private static final String GA_ADAPTIVE_RATES = "ga.adaptive.enabled";
+    private static final String GA_ADAPTIVE_MUTATION_MIN = "ga.adaptive.mutation.min";
+    private static final String GA_ADAPTIVE_MUTATION_MAX = "ga.adaptive.mutation.max";
+    private static final String GA_ADAPTIVE_CROSSOVER_MIN = "ga.adaptive.crossover.min";
+    private static final String GA_ADAPTIVE_CROSSOVER_MAX = "ga.adaptive.crossover.max";
+    private static final String GA_ADAPTIVE_DIVERSITY_TARGET = "ga.adaptive.diversity.target";
+    private static final String GA_ISLAND_COUNT = "ga.island.count";
+    private static final String GA_ISLAND_MIGRATION_INTERVAL = "ga.island.migration.interval";
+    private static final String GA_ISLAND_MIGRANTS = "ga.island.migrants";
+    private static final String GA_ISLAND_TOPOLOGY = "ga.island.topology";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public SolverResult solve(RosterProblem problem, long seed, Deadline deadline) {
+        GaSettings settings = loadConfiguration(); // Load latest config for every run
+        ForkJoinPool pool = gaEvaluationPool.acquirePool(settings.parallelism());
+        try {
+            GeneticAlgorithmEngine gaEngine = new GeneticAlgorithmEngine(problem.fitnessCalculator(), settings, pool, seed);
+            log.info("Starting Genetic Algorithm execution (Pop: {}, MaxGen: {}, Seed: {}, Time budget: {} ms)...",
+                    settings.populationSize(), settings.maxGenerations(), seed, deadline.budgetMillis());
+            ScheduleChromosome best = gaEngine.run(deadline);
+            return new SolverResult(best, gaEngine.getGenerationsRun(), settings.maxGenerations(), gaEngine.getTerminationReason(),
+                    gaEngine.getFitnessCacheLookups(), gaEngine.getFitnessCacheHits());
+        } finally {
+            gaEvaluationPool.releasePool(pool);
+        }
+    }
+
+    /**
+     * Loads the GA configuration into an immutable snapshot for one generation run.
+     * Nothing is stored on this (singleton) bean, so concurrent runs and the evaluation worker threads
+     * only ever see the settings that were current when their run started.
+     */
+    private GaSettings loadConfiguration() {
+        log.info("Loading GA configuration settings...");
+        int populationSize = Integer.parseInt(configurationService.getSettingOrDefault(GA_POPULATION_SIZE, "50"));
+        int maxGenerations = Integer.parseInt(configurationService.getSettingOrDefault(GA_MAX_GENERATIONS, "100"));
+        double mutationRate = Double.parseDouble(configurationService.getSettingOrDefault(GA_MUTATION_RATE, "0.1"));
+        double crossoverRate = Double.parseDouble(configurationService.getSettingOrDefault(GA_CROSSOVER_RATE, "0.8"));
+        CrossoverOperator crossoverOperator = loadCrossoverOperator();
+        int tournamentSize = Integer.parseInt(configurationService.getSettingOrDefault(GA_TOURNAMENT_SIZE, "5"));
+        double outsideEligibleRate = Double.parseDouble(configurationService.getSettingOrDefault(GA_OUTSIDE_ELIGIBLE_RATE, "0.05"));
+        double greedySeedFraction = Double.parseDouble(configurationService.getSettingOrDefault(GA_SEED_GREEDY_FRACTION, "0.2"));
+        boolean deltaEvaluation = Boolean.parseBoolean(configurationService.getSettingOrDefault(GA_DELTA_EVALUATION, "true"));
+        boolean repair = Boolean.parseBoolean(configurationService.getSettingOrDefault(GA_REPAIR, "false"));
+        // Off by default: only pays off when many employees share skills, availability and constraint parameters
+        boolean symmetryReduction = Boolean.parseBoolean(configurationService.getSettingOrDefault(GA_SYMMETRY_REDUCTION, "false"));
+        // Fingerprints remembered per population; 0 disables the fitness cache
+        int fitnessCacheSize = Math.max(0, Integer.parseInt(configurationService.getSettingOrDefault(GA_FITNESS_CACHE_SIZE, "4096")));
+        // 0 (default) means one worker per available processor
+        int parallelism = Integer.parseInt(configurationService.getSettingOrDefault(GA_PARALLELISM, "0"));
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        IslandSettings islands = loadIslandSettings();
+        LocalSearchSettings localSearch = new LocalSearchSettings(
+                Integer.parseInt(configurationService.getSettingOrDefault(GA_LOCAL_SEARCH_INTERVAL, "10")),
+                Integer.parseInt(configurationService.getSettingOrDefault(GA_LOCAL_SEARCH_TOP_K, "2")),
+                Integer.parseInt(configurationService.getSettingOrDefault(GA_LOCAL_SEARCH_MOVE_BUDGET, "2000")));
+        TerminationSettings termination = new TerminationSettings(
+                Integer.parseInt(configurationService.getSettingOrDefault(GA_TERMINATION_STAGNATION_GENERATIONS, "50")),
+                Double.parseDouble(configurationService.getSettingOrDefault(GA_TERMINATION_STAGNATION_EPSILON, "0.01")),
+                Double.parseDouble(configurationService.getSettingOrDefault(GA_TERMINATION_MIN_DIVERSITY, "0")),
+                Double.parseDouble(configurationService.getSettingOrDefault(GA_TERMINATION_LOWER_BOUND, "0")));
+        // Off by default: the fixed ga.mutation.rate / ga.crossover.rate apply
+        AdaptiveRateSettings adaptiveRates = new AdaptiveRateSettings(
+                Boolean.parseBoolean(configurationService.getSettingOrDefault(GA_ADAPTIVE_RATES, "false")),
+                Double.parseDouble(configurationService.getSettingOrDefault(GA_ADAPTIVE_MUTATION_MIN, "0.01")),
+                Double.parseDouble(configurationService.getSettingOrDefault(GA_ADAPTIVE_MUTATION_MAX, "0.2")),
+                Double.parseDouble(configurationService.getSettingOrDefault(GA_ADAPTIVE_CROSSOVER_MIN, "0.6")),
+                Double.parseDouble(configurationService.getSettingOrDefault(GA_ADAPTIVE_CROSSOVER_MAX, "0.95")),
+                Double.parseDouble(configurationService.getSettingOrDefault(GA_ADAPTIVE_DIVERSITY_TARGET, "0.3")));
+        log.info("GA configuration loaded: PopSize={}, MaxGen={}, MutRate={}, CrossRate={}, Crossover={}, TournSize={}, Parallelism={}, Islands={}",
+                populationSize, maxGenerations, mutationRate, crossoverRate, crossoverOperator, tournamentSize, parallelism, islands.islandCount());
+
+        return new GaSettings(populationSize, maxGenerations, mutationRate, crossoverRate, crossoverOperator, tournamentSize,
+                outsideEligibleRate, greedySeedFraction, deltaEvaluation, repair, symmetryReduction, fitnessCacheSize, parallelism, islands, localSearch,
+                termination, adaptiveRates);
+    }
+
+    /** Crossover operator (one_point, two_point, uniform or day_block); the default keeps the classic one-point crossover. */
+    private CrossoverOperator loadCrossoverOperator() {
+        String operatorSetting = configurationService.getSettingOrDefault(GA_CROSSOVER_OPERATOR, "one_point");
+        try {
+            return CrossoverOperator.valueOf(operatorSetting.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            log.error("Unknown crossover operator '{}', using ONE_POINT.", operatorSetting);
+            return CrossoverOperator.ONE_POINT;
+        }
+    }
+
+    /** Island-model settings; the default of a single island keeps the classic single-population GA. */
+    private IslandSettings loadIslandSettings() {
+        int islandCount = Integer.parseInt(configurationService.getSettingOrDefault(GA_ISLAND_COUNT, "1"));
+        int migrationInterval = Integer.parseInt(configurationService.getSettingOrDefault(GA_ISLAND_MIGRATION_INTERVAL, "10"));
+        int migrantCount = Integer.parseInt(configurationService.getSettingOrDefault(GA_ISLAND_MIGRANTS, "2"));
+        String topologySetting = configurationService.getSettingOrDefault(GA_ISLAND_TOPOLOGY, "ring");
+        IslandSettings.Topology topology;
+        try {
+            topology = IslandSettings.Topology.valueOf(topologySetting.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.error("Unknown island topology '{}', using RING.", topologySetting);
+            topology = IslandSettings.Topology.RING;
+        }
+        return new IslandSettings(Math.max(1, islandCount), Math.max(1, migrationInterval), Math.max(0, migrantCount), topology);
+    }
+}
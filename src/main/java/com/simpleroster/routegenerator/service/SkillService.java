@@ -1,20 +1,24 @@
 package com.simpleroster.routegenerator.service;
 
 import com.simpleroster.routegenerator.dto.SkillDTO; // Create this DTO
+import com.simpleroster.routegenerator.entity.Employee;
 import com.simpleroster.routegenerator.entity.Skill;
+import com.simpleroster.routegenerator.entity.Task;
 import com.simpleroster.routegenerator.repository.SkillRepository;
+import com.simpleroster.routegenerator.scheduling.SkillIndex;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Service layer for managing Skill entities.
- * Handles listing and creating skills.
+ * Handles listing and creating skills, and builds the {@link SkillIndex} used for bitmask skill matching.
  */
 @Service
 @RequiredArgsConstructor
@@ -65,6 +69,31 @@ public class SkillService {
         return mapToDTO(savedSkill);
     }
 
+    /**
+     * Builds the index assigning a dense ordinal to every skill the employees hold or the tasks require, for
+     * building {@code long[]} skill masks. Built per generation run from the data the run loaded (rather than
+     * cached globally), so skills added by any write path are always indexed.
+     *
+     * @param employees Employees of the run (skills must be initialized).
+     * @param tasks     Tasks of the run (required skills must be initialized).
+     * @return The run's SkillIndex.
+     */
+    public SkillIndex buildSkillIndex(Collection<Employee> employees, Collection<Task> tasks) {
+        SkillIndex index = SkillIndex.of(employees, tasks);
+        log.debug("Built skill index with {} skills.", index.size());
+        return index;
+    }
+
+    /**
+     * Whether the employee has every skill the task requires, using the skill masks of a run.
+     *
+     * @param skillIndex The index returned by {@link #buildSkillIndex} for the run the employee and task belong to.
+     * @return false if the task requires a skill the index does not know.
+     */
+    public boolean isQualified(SkillIndex skillIndex, Employee employee, Task task) {
+        return SkillIndex.containsAll(skillIndex.mask(employee.getSkills()), skillIndex.requiredMask(task.getRequiredSkills()));
+    }
+
     // TODO: Add deleteSkill(Long id) method - consider dependencies (Employees, Tasks)
     // TODO: Add updateSkill(Long id, SkillDTO skillDTO) method if needed
 
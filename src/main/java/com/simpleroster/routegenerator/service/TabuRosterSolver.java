@@ -0,0 +1,55 @@
+package com.simpleroster.routegenerator.service;
+
+import com.simpleroster.routegenerator.scheduling.Deadline;
+import com.simpleroster.routegenerator.scheduling.RosterProblem;
+import com.simpleroster.routegenerator.scheduling.RosterSolver;
+import com.simpleroster.routegenerator.scheduling.ScheduleChromosome;
+import com.simpleroster.routegenerator.scheduling.SolverResult;
+import com.simpleroster.routegenerator.scheduling.TabuSearchSolver;
+import com.simpleroster.routegenerator.scheduling.TabuSettings;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs the {@link TabuSearchSolver} with the {@code tabu.*} settings; suited to small and medium rosters.
+ */
+@Service
+@RequiredArgsConstructor
+public class TabuRosterSolver implements RosterSolver {
+
+    public static final String NAME = "tabu";
+
+    private static final Logger log = LoggerFactory.getLogger(TabuRosterSolver.class);
+    private final ConfigurationService configurationService;
+
+    private static final String TABU_TENURE = "tabu.tenure";
+    private static final String TABU_MAX_ITERATIONS = "tabu.max.iterations";
+    private static final String TABU_NEIGHBORHOOD_SIZE = "tabu.neighborhood.size";
+    private static final String TABU_STAGNATION_ITERATIONS = "tabu.stagnation.iterations";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public SolverResult solve(RosterProblem problem, long seed, Deadline deadline) {
+        TabuSettings settings = loadSettings();
+        TabuSearchSolver tabuSolver = new TabuSearchSolver(problem.fitnessCalculator(), settings, seed);
+        log.info("Starting Tabu Search execution (MaxIter: {}, Tenure: {}, Seed: {}, Time budget: {} ms)...",
+                settings.maxIterations(), settings.tenure(), seed, deadline.budgetMillis());
+        ScheduleChromosome best = tabuSolver.run(deadline);
+        return new SolverResult(best, tabuSolver.getIterationsRun(), settings.maxIterations(), tabuSolver.getTerminationReason());
+    }
+
+    /** Tabu search settings, loaded for every run. */
+    private TabuSettings loadSettings() {
+        return new TabuSettings(
+                Math.max(0, Integer.parseInt(configurationService.getSettingOrDefault(TABU_TENURE, "10"))),
+                Math.max(0, Integer.parseInt(configurationService.getSettingOrDefault(TABU_MAX_ITERATIONS, "20000"))),
+                Math.max(1, Integer.parseInt(configurationService.getSettingOrDefault(TABU_NEIGHBORHOOD_SIZE, "50"))),
+                Math.max(0, Integer.parseInt(configurationService.getSettingOrDefault(TABU_STAGNATION_ITERATIONS, "2000"))));
+    }
+}
@@ -54,6 +54,22 @@ SELECT t.id, s.id FROM tasks t, skills s WHERE t.name = 'Closing Shift' AND s.na
 INSERT INTO task_required_skills (task_id, skill_id)
 SELECT t.id, s.id FROM tasks t, skills s WHERE t.name = 'Mid Shift' AND s.name = 'Customer Service';
 
+-- Sample Coverage Requirements (the demand the schedule generator fills)
+-- day_of_week NULL applies to every day; rows with an override_date replace the weekly demand of that date;
+-- headcount NULL uses the task's minimum/optimal coverage
+INSERT INTO coverage_requirements (task_id, day_of_week, start_time, end_time, headcount)
+SELECT t.id, NULL, TIME '07:00', TIME '12:00', 1 FROM tasks t WHERE t.name = 'Opening Shift';
+
+INSERT INTO coverage_requirements (task_id, day_of_week, start_time, end_time, headcount)
+SELECT t.id, d.day, TIME '11:00', TIME '16:00', 1 FROM tasks t,
+    (VALUES ('MONDAY'), ('TUESDAY'), ('WEDNESDAY'), ('THURSDAY'), ('FRIDAY')) AS d(day) WHERE t.name = 'Mid Shift';
+
+INSERT INTO coverage_requirements (task_id, day_of_week, start_time, end_time, headcount)
+SELECT t.id, 'SATURDAY', TIME '11:00', TIME '16:00', 2 FROM tasks t WHERE t.name = 'Mid Shift';
+
+INSERT INTO coverage_requirements (task_id, day_of_week, start_time, end_time, headcount)
+SELECT t.id, NULL, TIME '16:00', TIME '21:00', 1 FROM tasks t WHERE t.name = 'Closing Shift';
+
 -- Sample User (Password: 'password')
 -- Use a BCrypt generator to get the hash for 'password'
 -- Example Hash (yours might differ slightly): $2a$10$dXJ3SWdSgpRq8a./IsT4.OgdsjNcsQpXlf7jNeCvJRTf.6DckdBdq
@@ -0,0 +1,156 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Curve coverage: bucket rounding, overlapping demand and the prefix-sum staffing of {@link FitnessCalculator},
+ * checked against a brute-force count of the shifts covering each bucket.
+ */
+class CoverageCurveTest {
+
+    private static final double TOLERANCE = 1e-6;
+    private static final int DAYS = 7;
+
+    /** One demanded window of a task on a day, as given to the curve builder. */
+    private record Demand(Task task, int day, int start, int end, int minimum, int optimal) {}
+
+    @Test
+    void shiftsCoverOnlyTheBucketsTheySpanCompletely() {
+        assertEquals(40, CoverageCurve.firstBucket(10 * 60));
+        assertEquals(41, CoverageCurve.firstBucket(10 * 60 + 1));
+        assertEquals(56, CoverageCurve.endBucket(10 * 60, 14 * 60));
+        assertEquals(56, CoverageCurve.endBucket(10 * 60, 14 * 60 + 14));
+        // Ending at or before the start: the shift runs to midnight
+        assertEquals(CoverageCurve.BUCKETS_PER_DAY, CoverageCurve.endBucket(20 * 60, 0));
+        assertEquals(CoverageCurve.BUCKETS_PER_DAY, CoverageCurve.endBucket(20 * 60, 20 * 60));
+    }
+
+    @Test
+    void overlappingDemandTakesTheHigherLevel() {
+        Task task = new Task();
+        CoverageCurve curve = CoverageCurve.builder(2, 240)
+                .add(task, 1, 8 * 60, 12 * 60, 1, 2)
+                .add(task, 1, 10 * 60, 14 * 60, 3, 3)
+                .build();
+        int[] minimum = curve.minimum(task);
+        int[] optimal = curve.optimal(task);
+        int day = CoverageCurve.BUCKETS_PER_DAY;
+        assertEquals(0, minimum[32], "day 0 has no demand");
+        assertEquals(1, minimum[day + 32]);
+        assertEquals(2, optimal[day + 32]);
+        assertEquals(3, minimum[day + 40]);
+        assertEquals(3, optimal[day + 47]);
+        assertEquals(3, minimum[day + 55]);
+        assertEquals(0, minimum[day + 56]);
+    }
+
+    @Test
+    void shiftBetweenTwoDemandWindowsCoversPartOfEach() {
+        RosterFixtures.Roster roster = RosterFixtures.roster(4, 1, 1, 1, 51);
+        Task task = roster.tasks().get(0);
+        task.setPenaltyWeight(10); // 500 per missing employee and 240 minutes, i.e. 31.25 per bucket; surplus 3.125
+        LocalDate date = RosterFixtures.START;
+        List<RequiredShiftSlot> slots = List.of(
+                new RequiredShiftSlot(date, LocalTime.of(8, 0), LocalTime.of(12, 0), task, 1, 1),
+                new RequiredShiftSlot(date, LocalTime.of(10, 0), LocalTime.of(14, 0), task, 0, 1),
+                new RequiredShiftSlot(date, LocalTime.of(12, 0), LocalTime.of(16, 0), task, 2, 2));
+        CoverageCurve curve = CoverageCurve.builder(1, 240)
+                .add(task, 0, 8 * 60, 12 * 60, 1, 1)
+                .add(task, 0, 12 * 60, 16 * 60, 2, 2)
+                .build();
+        SlotTable slotTable = RosterFixtures.slotTable(slots, 1);
+        FitnessCalculator calculator = RosterFixtures.problem(roster, slotTable, curve).fitnessCalculator();
+        int flexible = 1; // Seat of the 10:00-14:00 shift (08:00-12:00 is seat 0, 12:00-16:00 seats 2 and 3)
+        assertEquals(10 * 60, slotTable.startMinute(flexible));
+
+        ScheduleChromosome onlyFlexible = new ScheduleChromosome(slotTable.size());
+        onlyFlexible.set(flexible, 0);
+        // Missing: 08:00-10:00 one (8 buckets), 12:00-14:00 one (8), 14:00-16:00 two (8 x 2)
+        assertEquals(32 * 31.25, calculator.coveragePenalty(onlyFlexible), TOLERANCE);
+
+        ScheduleChromosome everyone = new ScheduleChromosome(slotTable.size());
+        for (int s = 0; s < everyone.size(); s++) everyone.set(s, s);
+        // Surplus: 10:00-12:00 two of one, 12:00-14:00 three of two
+        assertEquals(16 * 3.125, calculator.coveragePenalty(everyone), TOLERANCE);
+    }
+
+    @Test
+    void staffingMatchesBruteForceIntervalCount() {
+        RosterFixtures.Roster roster = RosterFixtures.roster(10, DAYS, 1, 2, 52);
+        List<Task> tasks = roster.tasks();
+        SplittableRandom random = new SplittableRandom(53);
+        List<RequiredShiftSlot> slots = new ArrayList<>();
+        List<Demand> demand = new ArrayList<>();
+        for (int d = 0; d < DAYS; d++) {
+            LocalDate date = RosterFixtures.START.plusDays(d);
+            for (Task task : tasks) {
+                // Random demand windows (possibly overlapping, on odd minutes) and shifts, one running to midnight
+                for (int w = 0; w < 3; w++) {
+                    int start = random.nextInt(6 * 60, 18 * 60);
+                    demand.add(new Demand(task, d, start, start + random.nextInt(30, 6 * 60), random.nextInt(0, 3), 3));
+                }
+                for (int w = 0; w < 3; w++) {
+                    int start = random.nextInt(6 * 60, 20 * 60);
+                    int end = random.nextInt(4) == 0 ? 0 : Math.min(start + random.nextInt(60, 8 * 60), 24 * 60 - 1);
+                    slots.add(new RequiredShiftSlot(date, LocalTime.of(start / 60, start % 60), LocalTime.of(end / 60, end % 60),
+                            task, 0, random.nextInt(1, 3)));
+                }
+            }
+        }
+        CoverageCurve.Builder builder = CoverageCurve.builder(DAYS, 180);
+        demand.forEach(w -> builder.add(w.task(), w.day(), w.start(), w.end(), w.minimum(), w.optimal()));
+        SlotTable slotTable = RosterFixtures.slotTable(slots, DAYS);
+        FitnessCalculator calculator = RosterFixtures.problem(roster, slotTable, builder.build()).fitnessCalculator();
+
+        for (int run = 0; run < 20; run++) {
+            ScheduleChromosome chromosome = RosterFixtures.randomSchedule(slotTable.size(), roster.employees().size(), random);
+            assertEquals(bruteForcePenalty(slotTable, demand, tasks, chromosome, 180), calculator.coveragePenalty(chromosome),
+                    TOLERANCE, "run " + run);
+        }
+    }
+
+    /** Curve penalty counting, per task, day and bucket, the demand windows and filled shifts that span the bucket. */
+    private static double bruteForcePenalty(SlotTable slotTable, List<Demand> demand, List<Task> tasks,
+                                            ScheduleChromosome chromosome, int referenceMinutes) {
+        PenaltySettings penalties = RosterFixtures.penalties();
+        double penalty = 0;
+        for (Task task : tasks) {
+            double share = (double) CoverageCurve.BUCKET_MINUTES / referenceMinutes;
+            double under = task.getPenaltyWeight() * (penalties.underStaffingBase() / 10.0) * share;
+            double over = task.getPenaltyWeight() * (penalties.overStaffingBase() / 10.0) * share;
+            for (int d = 0; d < slotTable.dayCount(); d++) {
+                for (int b = 0; b < CoverageCurve.BUCKETS_PER_DAY; b++) {
+                    int from = b * CoverageCurve.BUCKET_MINUTES;
+                    int to = from + CoverageCurve.BUCKET_MINUTES;
+                    int minimum = 0;
+                    int optimal = 0;
+                    for (Demand window : demand) {
+                        if (window.task() == task && window.day() == d && window.start() <= from && window.end() >= to) {
+                            minimum = Math.max(minimum, window.minimum());
+                            optimal = Math.max(optimal, window.optimal());
+                        }
+                    }
+                    int staffing = 0;
+                    for (int s = 0; s < slotTable.size(); s++) {
+                        if (chromosome.get(s) == ScheduleChromosome.UNASSIGNED || slotTable.task(s) != task
+                                || slotTable.dayIndex(s) != d) continue;
+                        int start = slotTable.startMinute(s);
+                        int end = slotTable.endMinute(s) <= start ? 24 * 60 : slotTable.endMinute(s);
+                        if (start <= from && end >= to) staffing++;
+                    }
+                    penalty += Math.max(0, minimum - staffing) * under + Math.max(0, staffing - optimal) * over;
+                }
+            }
+        }
+        return penalty;
+    }
+}
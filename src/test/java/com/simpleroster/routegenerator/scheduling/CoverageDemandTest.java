@@ -0,0 +1,150 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.CoverageRequirement;
+import com.simpleroster.routegenerator.entity.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Compiling coverage requirement rows into the slots and demand curve of a period. */
+class CoverageDemandTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 1);
+
+    private final Task task = task();
+
+    @Test
+    void overrideDateReplacesAllWeeklyRowsOfThatDate() {
+        LocalDate override = MONDAY.plusWeeks(1);
+        CoverageDemand demand = CoverageDemand.of(List.of(
+                weekly(DayOfWeek.MONDAY, 14, 18, 1),
+                weekly(DayOfWeek.MONDAY, 8, 12, 2),
+                onDate(override, 10, 16, 3)));
+
+        List<RequiredShiftSlot> slots = demand.slots(MONDAY, override);
+        assertEquals(3, slots.size());
+        // The first Monday has both weekly windows, sorted by start time
+        assertSlot(slots.get(0), MONDAY, 8, 12, 2);
+        assertSlot(slots.get(1), MONDAY, 14, 18, 1);
+        // The next Monday only has the override
+        assertSlot(slots.get(2), override, 10, 16, 3);
+    }
+
+    @Test
+    void rowWithoutDayOfWeekAppliesToEveryDay() {
+        CoverageDemand demand = CoverageDemand.of(List.of(weekly(null, 9, 17, 1), weekly(DayOfWeek.SATURDAY, 18, 22, 1)));
+
+        List<RequiredShiftSlot> slots = demand.slots(MONDAY, MONDAY.plusDays(6));
+        assertEquals(8, slots.size());
+        for (int d = 0; d < 6; d++) {
+            assertSlot(slots.get(d), MONDAY.plusDays(d), 9, 17, 1);
+        }
+        assertSlot(slots.get(6), MONDAY.plusDays(5), 18, 22, 1); // Saturday also keeps its own row
+        assertSlot(slots.get(7), MONDAY.plusDays(6), 9, 17, 1);
+    }
+
+    @Test
+    void zeroHeadcountClosesTheDay() {
+        LocalDate holiday = MONDAY.plusDays(2);
+        CoverageDemand demand = CoverageDemand.of(List.of(weekly(null, 9, 17, 2), onDate(holiday, 9, 17, 0)));
+
+        List<RequiredShiftSlot> slots = demand.slots(MONDAY, MONDAY.plusDays(3));
+        assertEquals(3, slots.size());
+        slots.forEach(slot -> assertTrue(!slot.date().equals(holiday), "slot on the closed day"));
+        int[] minimum = demand.curve(MONDAY, MONDAY.plusDays(3), 240).minimum(task);
+        assertEquals(2, minimum[CoverageCurve.BUCKETS_PER_DAY + 40]);
+        assertEquals(0, minimum[2 * CoverageCurve.BUCKETS_PER_DAY + 40], "no demand on the closed day");
+    }
+
+    @Test
+    void missingHeadcountFallsBackToTheTaskCoverage() {
+        CoverageDemand demand = CoverageDemand.of(List.of(weekly(DayOfWeek.MONDAY, 9, 17, null)));
+
+        List<RequiredShiftSlot> slots = demand.slots(MONDAY, MONDAY);
+        assertEquals(1, slots.size());
+        assertEquals(2, slots.get(0).minimumCoverage());
+        assertEquals(3, slots.get(0).optimalCoverage());
+    }
+
+    @Test
+    void periodMayStartBeforeBetweenOnOrAfterTheOverrideDates() {
+        LocalDate first = MONDAY.plusDays(2);
+        LocalDate second = MONDAY.plusDays(9);
+        LocalDate third = MONDAY.plusDays(19);
+        CoverageDemand demand = CoverageDemand.of(List.of(weekly(null, 9, 17, 1),
+                onDate(third, 6, 10, 1), onDate(first, 6, 10, 1), onDate(second, 6, 10, 1)));
+
+        assertOverrides(demand, MONDAY, MONDAY.plusDays(30), first, second, third);
+        assertOverrides(demand, first.plusDays(1), second.plusDays(1), second);   // Starts between two overrides
+        assertOverrides(demand, second, third.minusDays(1), second);              // Starts on an override
+        assertOverrides(demand, third.plusDays(1), third.plusDays(7));            // Starts after the last one
+        assertOverrides(demand, MONDAY.minusDays(7), MONDAY.minusDays(1));        // Ends before the first one
+    }
+
+    @Test
+    void invalidRowsAreSkippedAndCounted() {
+        CoverageRequirement withoutTask = weekly(DayOfWeek.MONDAY, 9, 17, 1);
+        withoutTask.setTask(null);
+        CoverageRequirement withoutStart = weekly(DayOfWeek.MONDAY, 9, 17, 1);
+        withoutStart.setStartTime(null);
+        CoverageDemand demand = CoverageDemand.of(List.of(withoutTask, withoutStart,
+                weekly(DayOfWeek.MONDAY, 17, 9, 1),   // Ends before it starts
+                weekly(DayOfWeek.MONDAY, 9, 9, 1),    // Empty
+                weekly(DayOfWeek.MONDAY, 9, 17, -1),  // Negative headcount
+                weekly(DayOfWeek.MONDAY, 9, 17, 1)));
+
+        assertEquals(5, demand.skipped());
+        assertEquals(1, demand.slots(MONDAY, MONDAY).size());
+    }
+
+    /** Asserts that exactly the given dates of the period have the 06:00 override window instead of the weekly one. */
+    private void assertOverrides(CoverageDemand demand, LocalDate startDate, LocalDate endDate, LocalDate... overrides) {
+        List<RequiredShiftSlot> slots = demand.slots(startDate, endDate);
+        assertEquals(startDate.datesUntil(endDate.plusDays(1)).count(), slots.size(), "one slot per day from " + startDate);
+        List<LocalDate> expected = List.of(overrides);
+        for (RequiredShiftSlot slot : slots) {
+            boolean override = slot.startTime().equals(LocalTime.of(6, 0));
+            assertEquals(expected.contains(slot.date()), override, slot.date() + " from " + startDate);
+        }
+    }
+
+    private void assertSlot(RequiredShiftSlot slot, LocalDate date, int startHour, int endHour, int headcount) {
+        assertEquals(date, slot.date());
+        assertEquals(LocalTime.of(startHour, 0), slot.startTime());
+        assertEquals(LocalTime.of(endHour, 0), slot.endTime());
+        assertSame(task, slot.task());
+        assertEquals(headcount, slot.minimumCoverage());
+        assertEquals(headcount, slot.optimalCoverage());
+    }
+
+    private CoverageRequirement weekly(DayOfWeek dayOfWeek, int startHour, int endHour, Integer headcount) {
+        CoverageRequirement requirement = new CoverageRequirement();
+        requirement.setTask(task);
+        requirement.setDayOfWeek(dayOfWeek);
+        requirement.setStartTime(LocalTime.of(startHour, 0));
+        requirement.setEndTime(LocalTime.of(endHour, 0));
+        requirement.setHeadcount(headcount);
+        return requirement;
+    }
+
+    private CoverageRequirement onDate(LocalDate date, int startHour, int endHour, Integer headcount) {
+        CoverageRequirement requirement = weekly(null, startHour, endHour, headcount);
+        requirement.setOverrideDate(date);
+        return requirement;
+    }
+
+    private static Task task() {
+        Task task = new Task();
+        task.setName("Service");
+        task.setMinimumCoverage(2);
+        task.setOptimalCoverage(3);
+        return task;
+    }
+}
@@ -0,0 +1,96 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Offspring of every crossover operator take each gene from one of the parents at the same position; the
+ * operators only differ in how they pick the parent.
+ */
+class CrossoverOperatorTest {
+
+    private static final int DAYS = 45; // 135 genes: not a multiple of 64
+
+    private final SlotTable slotTable = RosterFixtures.slotTable(
+            RosterFixtures.dailySlots(RosterFixtures.roster(1, DAYS, 1, 1, 61), DAYS), DAYS);
+    private final int size = slotTable.size();
+    private final int[] parent1 = new int[size];
+    private final int[] parent2 = new int[size];
+
+    CrossoverOperatorTest() {
+        for (int i = 0; i < size; i++) {
+            parent1[i] = i;
+            parent2[i] = size + i;
+        }
+    }
+
+    @Test
+    void everyGeneComesFromAParentAtTheSamePosition() {
+        for (CrossoverOperator operator : CrossoverOperator.values()) {
+            SplittableRandom random = new SplittableRandom(62);
+            for (int run = 0; run < 50; run++) {
+                int[] child = operator.cross(parent1, parent2, slotTable, random);
+                assertEquals(size, child.length, operator.name());
+                for (int i = 0; i < size; i++) {
+                    assertTrue(child[i] == parent1[i] || child[i] == parent2[i], operator + " gene " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void twoPointTakesOneContiguousRangeFromTheSecondParent() {
+        SplittableRandom random = new SplittableRandom(63);
+        for (int run = 0; run < 50; run++) {
+            int[] child = CrossoverOperator.TWO_POINT.cross(parent1, parent2, slotTable, random);
+            int switches = 0;
+            for (int i = 1; i < size; i++) {
+                if (fromSecond(child, i) != fromSecond(child, i - 1)) switches++;
+            }
+            assertTrue(switches <= 2 && !(switches == 2 && fromSecond(child, 0)), "run " + run);
+        }
+    }
+
+    @Test
+    void dayBlockNeverMixesParentsWithinADay() {
+        SplittableRandom random = new SplittableRandom(64);
+        boolean[] seen = new boolean[2];
+        for (int run = 0; run < 20; run++) {
+            int[] child = CrossoverOperator.DAY_BLOCK.cross(parent1, parent2, slotTable, random);
+            for (int d = 0; d < slotTable.dayCount(); d++) {
+                boolean second = fromSecond(child, slotTable.dayStart(d));
+                seen[second ? 1 : 0] = true;
+                for (int i = slotTable.dayStart(d); i < slotTable.dayEnd(d); i++) {
+                    assertEquals(second, fromSecond(child, i), "day " + d + " gene " + i);
+                }
+            }
+        }
+        assertTrue(seen[0] && seen[1], "days come from both parents");
+    }
+
+    @Test
+    void uniformDrawsEveryGeneOfAPartialLastWord() {
+        assertTrue(size % 64 != 0);
+        SplittableRandom random = new SplittableRandom(65);
+        int runs = 200;
+        int[] fromSecond = new int[size];
+        for (int run = 0; run < runs; run++) {
+            int[] child = CrossoverOperator.UNIFORM.cross(parent1, parent2, slotTable, random);
+            for (int i = 0; i < size; i++) {
+                if (fromSecond(child, i)) fromSecond[i]++;
+            }
+        }
+        // Each gene, including those after the last full 64, comes from either parent about half the time
+        for (int i = 0; i < size; i++) {
+            assertTrue(fromSecond[i] > runs / 4 && fromSecond[i] < runs * 3 / 4, "gene " + i + ": " + fromSecond[i]);
+        }
+    }
+
+    private boolean fromSecond(int[] child, int i) {
+        return child[i] == parent2[i];
+    }
+}
@@ -0,0 +1,29 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EligibilityIndexTest {
+
+    @Test
+    void seatsOfASlotShareItsEligibleEmployees() {
+        RosterFixtures.Roster roster = RosterFixtures.roster(16, 7, 2, 3, 41);
+        SlotTable slotTable = RosterFixtures.slotTable(RosterFixtures.dailySlots(roster, 7), 7);
+        FitnessCalculator calculator = RosterFixtures.problem(roster, slotTable, null).fitnessCalculator();
+        EligibilityIndex eligibility = new EligibilityIndex(calculator);
+
+        for (int s = 0; s < slotTable.size(); s++) {
+            int[] expected = new int[calculator.employeeCount()];
+            int count = 0;
+            for (int e = 0; e < calculator.employeeCount(); e++) {
+                if (calculator.isEligible(e, s)) expected[count++] = e;
+            }
+            assertArrayEquals(Arrays.copyOf(expected, count), eligibility.eligible(s), "seat " + s);
+            assertSame(eligibility.eligible(s - slotTable.seat(s)), eligibility.eligible(s));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Compiling the availability and preference strings of an employee into a profile. */
+class EmployeeConstraintProfileTest {
+
+    private static final int H = 60;
+
+    @Test
+    void singleAvailabilityWindowMustContainTheWholeShift() {
+        EmployeeConstraintProfile profile = compile("Mon_0800_1700", null);
+
+        assertTrue(profile.isAvailable(DayOfWeek.MONDAY, 8 * H, 17 * H));
+        assertTrue(profile.isAvailable(DayOfWeek.MONDAY, 9 * H, 12 * H));
+        assertFalse(profile.isAvailable(DayOfWeek.MONDAY, 7 * H, 12 * H));
+        assertFalse(profile.isAvailable(DayOfWeek.MONDAY, 12 * H, 18 * H));
+        assertFalse(profile.isAvailable(DayOfWeek.TUESDAY, 9 * H, 12 * H));
+    }
+
+    @Test
+    void severalIntervalsAreKeptPerDay() {
+        EmployeeConstraintProfile profile = compile("Mon_0600_1000, Mon_1400_2200,Any_1000_1200", null);
+
+        assertTrue(profile.isAvailable(DayOfWeek.MONDAY, 6 * H, 10 * H));
+        assertTrue(profile.isAvailable(DayOfWeek.MONDAY, 14 * H, 22 * H));
+        assertTrue(profile.isAvailable(DayOfWeek.MONDAY, 10 * H, 12 * H));
+        assertTrue(profile.isAvailable(DayOfWeek.SUNDAY, 10 * H, 12 * H));
+        // Adjacent windows are not merged: a shift must fit inside one of them
+        assertFalse(profile.isAvailable(DayOfWeek.MONDAY, 8 * H, 12 * H));
+        assertFalse(profile.isAvailable(DayOfWeek.SUNDAY, 14 * H, 22 * H));
+    }
+
+    @Test
+    void emptyAvailabilityMeansNeverAvailable() {
+        for (String availability : new String[]{null, "", "  "}) {
+            EmployeeConstraintProfile profile = compile(availability, "");
+            for (DayOfWeek day : DayOfWeek.values()) {
+                assertFalse(profile.isAvailable(day, 9 * H, 10 * H), day + " with '" + availability + "'");
+                assertEquals(EmployeeConstraintProfile.PREFERENCE_SCORE_NEUTRAL, profile.preferenceScore(day, 9 * H, 10 * H));
+            }
+        }
+    }
+
+    @Test
+    void malformedTokensAreSkipped() {
+        EmployeeConstraintProfile profile = compile(
+                "Mon_0800, Xyz_0800_1700, Tue_08:00_1700, Wed_1700_0800, Thu_0800_1700_extra, Fri_0900_1300", null);
+
+        for (DayOfWeek day : DayOfWeek.values()) {
+            assertEquals(day == DayOfWeek.FRIDAY, profile.isAvailable(day, 9 * H, 13 * H), day.toString());
+        }
+    }
+
+    @Test
+    void unpreferredTimeBlockOverlapsMorningShiftsOnly() {
+        EmployeeConstraintProfile profile = compile("Any_0000_2359", "unpreferred:Tue_Morning;preferredDay:Tue;bogus");
+
+        assertEquals(EmployeeConstraintProfile.PREFERENCE_SCORE_UNPREFERRED,
+                profile.preferenceScore(DayOfWeek.TUESDAY, 6 * H, 8 * H));
+        assertEquals(EmployeeConstraintProfile.PREFERENCE_SCORE_UNPREFERRED,
+                profile.preferenceScore(DayOfWeek.TUESDAY, 11 * H, 15 * H));
+        // Outside the morning the day-level preference applies; morning ends at 12:00 (half-open)
+        assertEquals(EmployeeConstraintProfile.PREFERENCE_SCORE_PREFERRED,
+                profile.preferenceScore(DayOfWeek.TUESDAY, 12 * H, 17 * H));
+        assertEquals(EmployeeConstraintProfile.PREFERENCE_SCORE_NEUTRAL,
+                profile.preferenceScore(DayOfWeek.MONDAY, 8 * H, 12 * H));
+    }
+
+    private static EmployeeConstraintProfile compile(String availability, String preferences) {
+        Employee employee = new Employee();
+        employee.setId(1L);
+        employee.setAvailability(availability);
+        employee.setPreferences(preferences);
+        return EmployeeConstraintProfile.compile(employee);
+    }
+}
@@ -0,0 +1,102 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Delta evaluation must always agree with a full {@link FitnessCalculator#calculateFitness} of the same genes:
+ * random reassignments, unassignments and same-day swaps are applied and compared against a full recomputation.
+ */
+class FitnessCalculatorDeltaTest {
+
+    private static final double TOLERANCE = 1e-6;
+    private static final int MOVES = 5000;
+    private static final int DAYS = 14;
+
+    @Test
+    void deltaMatchesFullEvaluationWithSlotCoverage() {
+        RosterFixtures.Roster roster = RosterFixtures.roster(12, DAYS, 1, 1, 1);
+        SlotTable slotTable = RosterFixtures.slotTable(RosterFixtures.dailySlots(roster, DAYS), DAYS);
+        assertDeltaMatchesFullEvaluation(RosterFixtures.problem(roster, slotTable, null).fitnessCalculator(), 11);
+    }
+
+    @Test
+    void deltaMatchesFullEvaluationWithMultiSeatSlots() {
+        RosterFixtures.Roster roster = RosterFixtures.roster(20, DAYS, 2, 3, 2);
+        SlotTable slotTable = RosterFixtures.slotTable(RosterFixtures.dailySlots(roster, DAYS), DAYS);
+        assertEquals(3 * slotTable.slotCount(), slotTable.size(), "three seats per slot");
+        assertDeltaMatchesFullEvaluation(RosterFixtures.problem(roster, slotTable, null).fitnessCalculator(), 12);
+    }
+
+    @Test
+    void deltaMatchesFullEvaluationWithCoverageCurve() {
+        RosterFixtures.Roster roster = RosterFixtures.roster(20, DAYS, 1, 2, 3);
+        List<RequiredShiftSlot> slots = RosterFixtures.dailySlots(roster, DAYS);
+        CoverageCurve.Builder curve = CoverageCurve.builder(DAYS, 240);
+        for (int d = 0; d < DAYS; d++) {
+            LocalDate date = RosterFixtures.START.plusDays(d);
+            curve.add(roster.tasks().get(0), d, 9 * 60, 13 * 60, 1, 2);
+            curve.add(roster.tasks().get(0), d, 11 * 60, 12 * 60, 2, 2);
+            curve.add(roster.tasks().get(1), d, 13 * 60, 17 * 60, 1, 1);
+            curve.add(roster.tasks().get(2), d, 17 * 60, 21 * 60, 1, 2);
+            // Shifts that only partly overlap the demand, one of them running to midnight
+            slots.add(new RequiredShiftSlot(date, LocalTime.of(10, 0), LocalTime.of(14, 0), roster.tasks().get(0), 0, 2));
+            slots.add(new RequiredShiftSlot(date, LocalTime.of(15, 10), LocalTime.of(19, 0), roster.tasks().get(1), 0, 1));
+            slots.add(new RequiredShiftSlot(date, LocalTime.of(20, 0), LocalTime.MIDNIGHT, roster.tasks().get(2), 0, 1));
+        }
+        SlotTable slotTable = RosterFixtures.slotTable(slots, DAYS);
+        assertDeltaMatchesFullEvaluation(RosterFixtures.problem(roster, slotTable, curve.build()).fitnessCalculator(), 13);
+    }
+
+    @Test
+    void deltaMatchesFullEvaluationWithCarryOver() {
+        RosterFixtures.Roster roster = RosterFixtures.roster(12, DAYS, 1, 2, 4);
+        List<RequiredShiftSlot> slots = RosterFixtures.dailySlots(roster, DAYS);
+        int half = DAYS / 2;
+        SlotTable first = RosterFixtures.slotTable(slots.subList(0, 3 * half), half);
+        SlotTable second = new SlotTable(slots.subList(3 * half, slots.size()), RosterFixtures.START.plusDays(half),
+                RosterFixtures.START.plusDays(DAYS - 1));
+        FitnessCalculator firstCalculator = RosterFixtures.problem(roster, first, null).fitnessCalculator();
+        ScheduleChromosome firstSchedule = RosterFixtures.randomSchedule(first.size(), roster.employees().size(), new SplittableRandom(5));
+        HorizonWindow window = new HorizonWindow(firstCalculator.carryOverAfter(firstSchedule), 1.0, true);
+        FitnessCalculator secondCalculator = new RosterProblem(roster.employees(), roster.profiles(), second,
+                roster.skillIndex(), RosterFixtures.penalties(), window).fitnessCalculator();
+        assertDeltaMatchesFullEvaluation(secondCalculator, 14);
+    }
+
+    private static void assertDeltaMatchesFullEvaluation(FitnessCalculator calculator, long seed) {
+        SlotTable slotTable = calculator.getSlotTable();
+        int employeeCount = calculator.employeeCount();
+        SplittableRandom random = new SplittableRandom(seed);
+        ScheduleChromosome chromosome = RosterFixtures.randomSchedule(slotTable.size(), employeeCount, random);
+        double evaluated = calculator.evaluateWithState(chromosome);
+        assertEquals(calculator.calculateFitness(chromosome), evaluated, TOLERANCE, "initial evaluation");
+
+        for (int move = 0; move < MOVES; move++) {
+            int slot = random.nextInt(slotTable.size());
+            double before = chromosome.getFitness();
+            if (random.nextInt(3) == 0) {
+                // Swap with another seat of the same day
+                int day = slotTable.dayIndex(slot);
+                int other = slotTable.dayStart(day) + random.nextInt(slotTable.dayEnd(day) - slotTable.dayStart(day));
+                int employee = chromosome.get(slot);
+                calculator.applyChange(chromosome, slot, chromosome.get(other));
+                calculator.applyChange(chromosome, other, employee);
+            } else {
+                int employee = random.nextInt(4) == 0 ? ScheduleChromosome.UNASSIGNED : random.nextInt(employeeCount);
+                double delta = calculator.deltaForChange(chromosome, slot, employee);
+                double after = calculator.applyChange(chromosome, slot, employee);
+                assertEquals(before + delta, after, TOLERANCE, "delta of move " + move);
+            }
+            assertEquals(calculator.calculateFitness(chromosome), chromosome.getFitness(), TOLERANCE, "fitness after move " + move);
+        }
+        calculator.syncFitness(chromosome);
+        assertEquals(calculator.calculateFitness(chromosome), chromosome.getFitness(), TOLERANCE, "fitness after sync");
+    }
+}
@@ -0,0 +1,53 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * For a fixed seed, parallel evaluation (and parallel islands) must produce exactly the schedule of the
+ * sequential run.
+ */
+class GeneticAlgorithmEngineParallelTest {
+
+    private static final int DAYS = 14;
+    private static final int PARALLELISM = 4;
+
+    @Test
+    void parallelEvaluationMatchesSequentialRun() {
+        assertParallelMatchesSequential(IslandSettings.single());
+    }
+
+    @Test
+    void parallelIslandsMatchSequentialRun() {
+        assertParallelMatchesSequential(new IslandSettings(3, 5, 2, IslandSettings.Topology.RING));
+    }
+
+    private static void assertParallelMatchesSequential(IslandSettings islands) {
+        RosterFixtures.Roster roster = RosterFixtures.roster(12, DAYS, 1, 2, 21);
+        SlotTable slotTable = RosterFixtures.slotTable(RosterFixtures.dailySlots(roster, DAYS), DAYS);
+        FitnessCalculator calculator = RosterFixtures.problem(roster, slotTable, null).fitnessCalculator();
+        ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+        try {
+            for (long seed = 1; seed <= 3; seed++) {
+                ScheduleChromosome sequential = new GeneticAlgorithmEngine(calculator, settings(1, islands), null, seed)
+                        .run(Deadline.NONE);
+                ScheduleChromosome parallel = new GeneticAlgorithmEngine(calculator, settings(PARALLELISM, islands), pool, seed)
+                        .run(Deadline.NONE);
+                assertArrayEquals(sequential.genes(), parallel.genes(), "best schedule of seed " + seed);
+                assertEquals(sequential.getFitness(), parallel.getFitness(), "best fitness of seed " + seed);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static GaSettings settings(int parallelism, IslandSettings islands) {
+        return new GaSettings(30, 40, 0.1, 0.8, CrossoverOperator.ONE_POINT, 5, 0.05, 0.2, true, false, false, 1024,
+                parallelism, islands, new LocalSearchSettings(10, 2, 500), new TerminationSettings(20, 0.01, 0, 0),
+                AdaptiveRateSettings.disabled());
+    }
+}
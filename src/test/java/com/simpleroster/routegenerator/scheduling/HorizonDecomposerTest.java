@@ -0,0 +1,158 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stitching windows back into the horizon, and the carry-over that lets the window-local penalties add up to the
+ * penalty of the whole horizon. The windows are "solved" by a solver that looks the genes up in a fixed plan.
+ */
+class HorizonDecomposerTest {
+
+    private static final double TOLERANCE = 1e-6;
+    private static final int DAYS = 14;
+    private static final int WINDOW_DAYS = 5; // Windows of 5, 5 and 4 days
+
+    /** Employee 0 works days 2-9 without a break: eight days, across the boundary between the first two windows. */
+    private static final int STREAK_FROM = 2;
+    private static final int STREAK_TO = 9;
+    private static final int LATE_DAY = 4; // Last day of the first window: the late shift before an early one
+
+    @Test
+    void stitchedScheduleKeepsEveryGeneAtItsHorizonOrdinal() {
+        Fixture fixture = new Fixture();
+        SolverResult result = new HorizonDecomposer(WINDOW_DAYS).solve(fixture.solver, fixture.problem, 81, Deadline.NONE);
+
+        assertEquals(3, fixture.solver.windows.size());
+        assertArrayEquals(fixture.plan.genes(), result.assignment().genes());
+        assertEquals(fixture.problem.fitnessCalculator().calculateFitness(fixture.plan), result.assignment().getFitness(), TOLERANCE);
+    }
+
+    @Test
+    void windowPenaltiesAddUpToTheWholeHorizon() {
+        Fixture fixture = new Fixture();
+        new HorizonDecomposer(WINDOW_DAYS).solve(fixture.solver, fixture.problem, 82, Deadline.NONE);
+
+        double windowTotal = 0;
+        for (double fitness : fixture.solver.windowFitness) windowTotal += fitness;
+        assertEquals(fixture.problem.fitnessCalculator().calculateFitness(fixture.plan), windowTotal, TOLERANCE);
+    }
+
+    @Test
+    void carryOverScoresTheStreakAndSuccessionAcrossTheBoundary() {
+        Fixture fixture = new Fixture();
+        new HorizonDecomposer(WINDOW_DAYS).solve(fixture.solver, fixture.problem, 83, Deadline.NONE);
+        RosterProblem second = fixture.solver.windows.get(1);
+        CarryOver carried = second.window().carryOver(0);
+        assertEquals(-1, carried.lastWorkDay());
+        assertEquals(3, carried.consecutiveWorkDays());
+        assertTrue(carried.lastShiftEndsLate());
+
+        // The same window with employee 0 starting fresh
+        List<CarryOver> fresh = new ArrayList<>(second.window().carryOver());
+        fresh.set(0, CarryOver.NONE);
+        RosterProblem withoutCarryOver = new RosterProblem(second.employees(), second.profiles(), second.slotTable(),
+                second.skillIndex(), second.penalties(), new HorizonWindow(fresh, second.window().minHoursShare(), false));
+        ScheduleChromosome windowSchedule = fixture.solver.solved.get(1);
+
+        // Days 7-9 are the 6th to 8th day of the streak, 1, 2 and 3 over the maximum of 5; plus the late-to-early succession
+        double expected = (1 + 2 + 3) * fixture.employees.get(0).getConsecutiveDayPenaltyWeight()
+                + RosterFixtures.penalties().forbiddenSuccession();
+        assertEquals(expected, second.fitnessCalculator().calculateFitness(windowSchedule)
+                - withoutCarryOver.fitnessCalculator().calculateFitness(windowSchedule), TOLERANCE);
+    }
+
+    /**
+     * Three tasks a day, an extra two-seat slot on even days (so windows differ in size), and a plan with a
+     * streak of employee 0 across the first boundary. The total hours and weekend limits are switched off: they are
+     * checked against running totals at the end of every window, so only they would not add up over the windows.
+     */
+    private static final class Fixture {
+
+        final List<Employee> employees;
+        final RosterProblem problem;
+        final ScheduleChromosome plan;
+        final PlanSolver solver;
+
+        Fixture() {
+            RosterFixtures.Roster roster = RosterFixtures.roster(6, DAYS, 1, 1, 84);
+            employees = roster.employees();
+            for (Employee employee : employees) {
+                employee.setMinTotalHours(0);
+                employee.setMaxTotalHours(null);
+                employee.setMaxWeekends(DAYS);
+            }
+            employees.get(0).setMaxConsecutiveDays(5);
+
+            List<RequiredShiftSlot> slots = new ArrayList<>();
+            for (int d = 0; d < DAYS; d++) {
+                LocalDate date = RosterFixtures.START.plusDays(d);
+                slots.add(new RequiredShiftSlot(date, LocalTime.of(7, 0), LocalTime.of(12, 0), roster.tasks().get(0), 1, 1));
+                if (d % 2 == 0) {
+                    slots.add(new RequiredShiftSlot(date, LocalTime.of(12, 0), LocalTime.of(14, 0), roster.tasks().get(1), 1, 2));
+                }
+                slots.add(new RequiredShiftSlot(date, LocalTime.of(14, 0), LocalTime.of(22, 0), roster.tasks().get(2), 1, 1));
+            }
+            SlotTable slotTable = RosterFixtures.slotTable(slots, DAYS);
+            problem = RosterFixtures.problem(roster, slotTable, null);
+
+            // Employee 0: the early shift on the streak's days, except the late shift on the last day of the first window
+            SplittableRandom random = new SplittableRandom(85);
+            plan = new ScheduleChromosome(slotTable.size());
+            for (int s = 0; s < slotTable.size(); s++) {
+                int day = slotTable.dayIndex(s);
+                boolean streak = day >= STREAK_FROM && day <= STREAK_TO;
+                boolean employee0 = streak && slotTable.startMinute(s) == (day == LATE_DAY ? 14 * 60 : 7 * 60);
+                plan.set(s, employee0 ? 0 : random.nextInt(3) == 0 ? ScheduleChromosome.UNASSIGNED
+                        : 1 + random.nextInt(employees.size() - 1));
+            }
+            solver = new PlanSolver(plan, slotTable);
+        }
+    }
+
+    /** Returns the plan's genes for the slots of whatever (window) problem it is given. */
+    private static final class PlanSolver implements RosterSolver {
+
+        private final Map<RequiredShiftSlot, int[]> genesBySlot = new IdentityHashMap<>(); // Per slot: gene per seat
+        final List<RosterProblem> windows = new ArrayList<>();
+        final List<ScheduleChromosome> solved = new ArrayList<>();
+        final List<Double> windowFitness = new ArrayList<>();
+
+        PlanSolver(ScheduleChromosome plan, SlotTable slotTable) {
+            for (int s = 0; s < slotTable.size(); s++) {
+                genesBySlot.computeIfAbsent(slotTable.slot(s), slot -> new int[SlotTable.seatsFor(slot)])[slotTable.seat(s)] = plan.get(s);
+            }
+        }
+
+        @Override
+        public String name() {
+            return "plan";
+        }
+
+        @Override
+        public SolverResult solve(RosterProblem problem, long seed, Deadline deadline) {
+            SlotTable slotTable = problem.slotTable();
+            ScheduleChromosome assignment = new ScheduleChromosome(slotTable.size());
+            for (int s = 0; s < slotTable.size(); s++) {
+                assignment.set(s, genesBySlot.get(slotTable.slot(s))[slotTable.seat(s)]);
+            }
+            assignment.setFitness(problem.fitnessCalculator().calculateFitness(assignment));
+            windows.add(problem);
+            solved.add(assignment);
+            windowFitness.add(assignment.getFitness());
+            return new SolverResult(assignment, 1, 1, TerminationReason.MAX_GENERATIONS);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * After {@link RepairOperator#repair} no employee works twice on a day, every assignment is eligible, and the delta
+ * state still agrees with a full evaluation.
+ */
+class RepairOperatorTest {
+
+    private static final double TOLERANCE = 1e-6;
+    private static final int DAYS = 14;
+
+    @Test
+    void repairedScheduleHasNoDoubleBookingOrIneligibleAssignment() {
+        RosterFixtures.Roster roster = RosterFixtures.roster(20, DAYS, 2, 3, 71);
+        SlotTable slotTable = RosterFixtures.slotTable(RosterFixtures.dailySlots(roster, DAYS), DAYS);
+        FitnessCalculator calculator = RosterFixtures.problem(roster, slotTable, null).fitnessCalculator();
+        RepairOperator repair = new RepairOperator(calculator, new EligibilityIndex(calculator));
+        SplittableRandom random = new SplittableRandom(72);
+
+        int repaired = 0;
+        for (int run = 0; run < 50; run++) {
+            ScheduleChromosome chromosome = RosterFixtures.randomSchedule(slotTable.size(), roster.employees().size(), random);
+            boolean withState = run % 2 == 0;
+            if (withState) calculator.evaluateWithState(chromosome);
+
+            repaired += repair.repair(chromosome, random);
+
+            boolean[][] working = new boolean[roster.employees().size()][DAYS];
+            for (int s = 0; s < chromosome.size(); s++) {
+                int employee = chromosome.get(s);
+                if (employee == ScheduleChromosome.UNASSIGNED) continue;
+                assertTrue(calculator.isEligible(employee, s), "run " + run + " seat " + s);
+                int day = slotTable.dayIndex(s);
+                assertFalse(working[employee][day], "run " + run + ": employee " + employee + " twice on day " + day);
+                working[employee][day] = true;
+            }
+            if (withState) {
+                assertTrue(chromosome.hasFitnessState());
+                assertEquals(calculator.calculateFitness(chromosome), chromosome.getFitness(), TOLERANCE, "run " + run);
+            }
+        }
+        assertTrue(repaired > 0, "random schedules needed repair");
+    }
+
+    @Test
+    void feasibleScheduleIsLeftUnchanged() {
+        RosterFixtures.Roster roster = RosterFixtures.roster(20, DAYS, 1, 1, 73);
+        SlotTable slotTable = RosterFixtures.slotTable(RosterFixtures.dailySlots(roster, DAYS), DAYS);
+        FitnessCalculator calculator = RosterFixtures.problem(roster, slotTable, null).fitnessCalculator();
+        RepairOperator repair = new RepairOperator(calculator, new EligibilityIndex(calculator));
+        SplittableRandom random = new SplittableRandom(74);
+        ScheduleChromosome chromosome = RosterFixtures.randomSchedule(slotTable.size(), roster.employees().size(), random);
+        repair.repair(chromosome, random);
+        int[] before = chromosome.genes().clone();
+
+        assertEquals(0, repair.repair(chromosome, random));
+        for (int s = 0; s < before.length; s++) {
+            assertEquals(before[s], chromosome.get(s), "seat " + s);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Employee;
+import com.simpleroster.routegenerator.entity.Skill;
+import com.simpleroster.routegenerator.entity.Task;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic rosters for the scheduling tests: three tasks (morning, afternoon, evening) with one skill each, and
+ * employees with random skills, availability and preferences drawn from a fixed seed.
+ */
+final class RosterFixtures {
+
+    static final LocalDate START = LocalDate.of(2024, 1, 1); // A Monday
+
+    private static final String[] DAYS = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+
+    private RosterFixtures() {
+    }
+
+    /** Employees, their compiled profiles and the tasks they can be assigned to. */
+    record Roster(List<Employee> employees, List<EmployeeConstraintProfile> profiles, List<Skill> skills, List<Task> tasks) {
+
+        SkillIndex skillIndex() {
+            return SkillIndex.of(skills);
+        }
+    }
+
+    /**
+     * @param employeeCount   Number of employees.
+     * @param days            Length of the period, for the employees' hour limits.
+     * @param minimumCoverage Minimum coverage of every task.
+     * @param optimalCoverage Optimal coverage of every task.
+     * @param seed            Seed of the random skills, availability and preferences.
+     */
+    static Roster roster(int employeeCount, int days, int minimumCoverage, int optimalCoverage, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Skill> skills = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Skill skill = new Skill();
+            skill.setId((long) i);
+            skill.setName("Skill " + i);
+            skills.add(skill);
+        }
+        String[] names = {"Morning Task", "Afternoon Task", "Evening Task"};
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setName(names[i]);
+            task.setMinimumCoverage(minimumCoverage);
+            task.setOptimalCoverage(optimalCoverage);
+            task.setPenaltyWeight(10 + 5 * i);
+            task.getRequiredSkills().add(skills.get(i));
+            tasks.add(task);
+        }
+        List<Employee> employees = new ArrayList<>();
+        List<EmployeeConstraintProfile> profiles = new ArrayList<>();
+        for (int i = 0; i < employeeCount; i++) {
+            Employee employee = new Employee();
+            employee.setId((long) i);
+            employee.setVersion(0L);
+            employee.setName("Employee " + i);
+            for (Skill skill : skills) {
+                if (random.nextInt(2) == 0) employee.getSkills().add(skill);
+            }
+            StringBuilder availability = new StringBuilder();
+            for (String day : DAYS) {
+                if (random.nextInt(4) == 0) continue;
+                if (availability.length() > 0) availability.append(',');
+                availability.append(day).append(random.nextBoolean() ? "_0800_2200" : "_0800_1700");
+            }
+            employee.setAvailability(availability.toString());
+            employee.setPreferences(random.nextBoolean() ? "unpreferred:" + DAYS[random.nextInt(7)] + "_Morning" : "");
+            employee.setMaxTotalHours(days * 4);
+            employee.setMinTotalHours(days);
+            employees.add(employee);
+            profiles.add(EmployeeConstraintProfile.compile(employee));
+        }
+        return new Roster(employees, profiles, skills, tasks);
+    }
+
+    /** One slot per task and day: 09:00-13:00, 13:00-17:00 and 17:00-21:00. */
+    static List<RequiredShiftSlot> dailySlots(Roster roster, int days) {
+        List<RequiredShiftSlot> slots = new ArrayList<>();
+        for (int d = 0; d < days; d++) {
+            LocalDate date = START.plusDays(d);
+            slots.add(new RequiredShiftSlot(date, LocalTime.of(9, 0), LocalTime.of(13, 0), roster.tasks().get(0)));
+            slots.add(new RequiredShiftSlot(date, LocalTime.of(13, 0), LocalTime.of(17, 0), roster.tasks().get(1)));
+            slots.add(new RequiredShiftSlot(date, LocalTime.of(17, 0), LocalTime.of(21, 0), roster.tasks().get(2)));
+        }
+        return slots;
+    }
+
+    static SlotTable slotTable(List<RequiredShiftSlot> slots, int days) {
+        return new SlotTable(slots, START, START.plusDays(days - 1));
+    }
+
+    static PenaltySettings penalties() {
+        return new PenaltySettings(1000, 500, 50, 200, LocalTime.of(19, 59), LocalTime.of(8, 0));
+    }
+
+    static RosterProblem problem(Roster roster, SlotTable slotTable, CoverageCurve curve) {
+        return new RosterProblem(roster.employees(), roster.profiles(), slotTable, roster.skillIndex(), penalties(),
+                HorizonWindow.WHOLE, curve);
+    }
+
+    /** A chromosome with every seat assigned to a random employee, or left unassigned with probability 1/3. */
+    static ScheduleChromosome randomSchedule(int size, int employeeCount, SplittableRandom random) {
+        ScheduleChromosome chromosome = new ScheduleChromosome(size);
+        for (int s = 0; s < size; s++) {
+            chromosome.set(s, random.nextInt(3) == 0 ? ScheduleChromosome.UNASSIGNED : random.nextInt(employeeCount));
+        }
+        return chromosome;
+    }
+}
@@ -0,0 +1,172 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Employee;
+import com.simpleroster.routegenerator.entity.Skill;
+import com.simpleroster.routegenerator.entity.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Splitting a roster with two disjoint skill groups (kitchen and front of house, employees alternating between
+ * them) into clusters, and mapping the cluster-local employee and seat indices back when merging.
+ */
+class SkillClusterDecomposerTest {
+
+    private static final double TOLERANCE = 1e-6;
+    private static final int DAYS = 7;
+    private static final int EMPLOYEES = 10; // Even indices cook, odd ones serve
+
+    private final Skill cooking = skill(0, "Cooking");
+    private final Skill serving = skill(1, "Serving");
+    private final Task kitchen = task(0, "Kitchen", cooking);
+    private final Task front = task(1, "Front", serving);
+    private final Task bar = task(2, "Bar", skill(2, "Mixing")); // Nobody has the skill
+    private final RosterProblem problem = problem();
+
+    @Test
+    void findsBothSkillGroups() {
+        FitnessCalculator calculator = problem.fitnessCalculator();
+        List<SkillClusterDecomposer.Cluster> clusters = SkillClusterDecomposer.clusters(calculator);
+
+        assertEquals(2, clusters.size());
+        SlotTable slotTable = problem.slotTable();
+        int clustered = 0;
+        for (SkillClusterDecomposer.Cluster cluster : clusters) {
+            int group = cluster.employees()[0] % 2;
+            Task task = group == 0 ? kitchen : front;
+            assertEquals(EMPLOYEES / 2, cluster.employees().length);
+            for (int e : cluster.employees()) assertEquals(group, e % 2, "employee " + e);
+            for (int s : cluster.slots()) assertSame(task, slotTable.task(s));
+            clustered += cluster.slots().length;
+        }
+        // The bar slots have nobody with the skill and belong to no cluster
+        int barSeats = 0;
+        for (int s = 0; s < slotTable.size(); s++) {
+            if (slotTable.task(s) == bar) barSeats++;
+        }
+        assertEquals(slotTable.size() - barSeats, clustered);
+    }
+
+    @Test
+    void mergedGenesMapBackToTheClustersEmployeesAndSeats() {
+        SeatSolver solver = new SeatSolver();
+        SolverResult result = new SkillClusterDecomposer(null).solve(solver, problem, 91, Deadline.NONE);
+        ScheduleChromosome merged = result.assignment();
+        FitnessCalculator calculator = problem.fitnessCalculator();
+        SlotTable slotTable = problem.slotTable();
+        List<SkillClusterDecomposer.Cluster> clusters = SkillClusterDecomposer.clusters(calculator);
+        assertEquals(clusters.size(), solver.problems.size());
+
+        for (int c = 0; c < clusters.size(); c++) {
+            SkillClusterDecomposer.Cluster cluster = clusters.get(c);
+            SlotTable clusterSlots = solver.problems.get(c).slotTable();
+            ScheduleChromosome clusterAssignment = solver.assignments.get(c);
+            assertEquals(cluster.slots().length, clusterSlots.size());
+            for (int i = 0; i < cluster.slots().length; i++) {
+                int s = cluster.slots()[i];
+                // Cluster seat i is the same slot and seat as horizon ordinal s
+                assertSame(slotTable.slot(s), clusterSlots.slot(i));
+                assertEquals(slotTable.seat(s), clusterSlots.seat(i), "seat of ordinal " + s);
+                int employee = merged.get(s);
+                assertEquals(cluster.employees()[clusterAssignment.get(i)], employee, "ordinal " + s);
+                assertTrue(calculator.hasSkillsForTask(employee, calculator.taskIndex(s)), "ordinal " + s);
+            }
+        }
+        for (int s = 0; s < slotTable.size(); s++) {
+            if (slotTable.task(s) == bar) assertEquals(ScheduleChromosome.UNASSIGNED, merged.get(s), "bar ordinal " + s);
+        }
+        assertEquals(calculator.calculateFitness(merged), merged.getFitness(), TOLERANCE);
+    }
+
+    @Test
+    void concurrentClustersMergeLikeSequentialOnes() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ScheduleChromosome sequential = new SkillClusterDecomposer(null)
+                    .solve(new SeatSolver(), problem, 92, Deadline.NONE).assignment();
+            ScheduleChromosome concurrent = new SkillClusterDecomposer(pool)
+                    .solve(new SeatSolver(), problem, 92, Deadline.NONE).assignment();
+            assertArrayEquals(sequential.genes(), concurrent.genes());
+            assertEquals(sequential.getFitness(), concurrent.getFitness(), TOLERANCE);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Kitchen (2 seats), front (3 seats) and bar (1 seat) slots every day, interleaved in time. */
+    private RosterProblem problem() {
+        List<Employee> employees = new ArrayList<>();
+        List<EmployeeConstraintProfile> profiles = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setId((long) i);
+            employee.setName("Employee " + i);
+            employee.setAvailability("Any_0600_2300");
+            employee.getSkills().add(i % 2 == 0 ? cooking : serving);
+            employees.add(employee);
+            profiles.add(EmployeeConstraintProfile.compile(employee));
+        }
+        List<RequiredShiftSlot> slots = new ArrayList<>();
+        for (int d = 0; d < DAYS; d++) {
+            LocalDate date = RosterFixtures.START.plusDays(d);
+            slots.add(new RequiredShiftSlot(date, LocalTime.of(7, 0), LocalTime.of(11, 0), front, 2, 3));
+            slots.add(new RequiredShiftSlot(date, LocalTime.of(8, 0), LocalTime.of(14, 0), kitchen, 1, 2));
+            slots.add(new RequiredShiftSlot(date, LocalTime.of(12, 0), LocalTime.of(18, 0), bar, 1, 1));
+            slots.add(new RequiredShiftSlot(date, LocalTime.of(14, 0), LocalTime.of(22, 0), kitchen, 2, 2));
+            slots.add(new RequiredShiftSlot(date, LocalTime.of(16, 0), LocalTime.of(22, 0), front, 1, 3));
+        }
+        return new RosterProblem(employees, profiles, RosterFixtures.slotTable(slots, DAYS),
+                SkillIndex.of(List.of(cooking, serving)), RosterFixtures.penalties());
+    }
+
+    /** Gives every seat of a (cluster) problem its own employee, so a seat mixed up in the merge shows. */
+    private static final class SeatSolver implements RosterSolver {
+
+        final List<RosterProblem> problems = new ArrayList<>();
+        final List<ScheduleChromosome> assignments = new ArrayList<>();
+
+        @Override
+        public String name() {
+            return "seats";
+        }
+
+        @Override
+        public synchronized SolverResult solve(RosterProblem problem, long seed, Deadline deadline) {
+            SlotTable slotTable = problem.slotTable();
+            int employeeCount = problem.employees().size();
+            ScheduleChromosome assignment = new ScheduleChromosome(slotTable.size());
+            for (int s = 0; s < slotTable.size(); s++) {
+                assignment.set(s, (slotTable.slotIndex(s) + slotTable.seat(s)) % employeeCount);
+            }
+            assignment.setFitness(problem.fitnessCalculator().calculateFitness(assignment));
+            problems.add(problem);
+            assignments.add(assignment);
+            return new SolverResult(assignment, 1, 1, TerminationReason.MAX_GENERATIONS);
+        }
+    }
+
+    private static Skill skill(long id, String name) {
+        Skill skill = new Skill();
+        skill.setId(id);
+        skill.setName(name);
+        return skill;
+    }
+
+    private static Task task(long id, String name, Skill skill) {
+        Task task = new Task();
+        task.setId(id);
+        task.setName(name);
+        task.getRequiredSkills().add(skill);
+        return task;
+    }
+}
@@ -0,0 +1,63 @@
+package com.simpleroster.routegenerator.scheduling;
+
+import com.simpleroster.routegenerator.entity.Employee;
+import com.simpleroster.routegenerator.entity.Skill;
+import com.simpleroster.routegenerator.entity.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkillIndexTest {
+
+    @Test
+    void indexesTheSkillsOfTheRunsEmployeesAndTasks() {
+        Skill cooking = skill("Cooking");
+        Skill serving = skill("Serving");
+        Employee cook = new Employee();
+        cook.getSkills().add(cooking);
+        Task service = new Task();
+        service.getRequiredSkills().add(serving);
+
+        SkillIndex index = SkillIndex.of(List.of(cook), List.of(service));
+
+        assertEquals(2, index.size());
+        assertFalse(SkillIndex.containsAll(index.mask(cook.getSkills()), index.requiredMask(service.getRequiredSkills())));
+    }
+
+    @Test
+    void unknownRequiredSkillCannotBeSatisfied() {
+        Skill known = skill("Known");
+        Skill unknown = skill("Unknown");
+        SkillIndex index = SkillIndex.of(List.of(known));
+        long[] everyone = index.mask(Set.of(known, unknown));
+
+        assertTrue(SkillIndex.containsAll(everyone, index.requiredMask(Set.of(known))));
+        assertFalse(SkillIndex.containsAll(everyone, index.requiredMask(Set.of(unknown))));
+        assertFalse(SkillIndex.containsAll(everyone, index.requiredMask(Set.of(known, unknown))));
+        assertFalse(SkillIndex.isEmpty(index.requiredMask(Set.of(unknown))));
+    }
+
+    @Test
+    void unknownRequiredSkillLeavesTheTaskWithoutQualifiedEmployees() {
+        RosterFixtures.Roster roster = RosterFixtures.roster(8, 7, 1, 1, 31);
+        roster.tasks().get(0).getRequiredSkills().add(skill("Not indexed"));
+        SlotTable slotTable = RosterFixtures.slotTable(RosterFixtures.dailySlots(roster, 7), 7);
+        FitnessCalculator calculator = RosterFixtures.problem(roster, slotTable, null).fitnessCalculator();
+
+        int task = calculator.taskIndex(0);
+        for (int e = 0; e < roster.employees().size(); e++) {
+            assertFalse(calculator.hasSkillsForTask(e, task), "employee " + e);
+        }
+    }
+
+    private static Skill skill(String name) {
+        Skill skill = new Skill();
+        skill.setName(name);
+        return skill;
+    }
+}
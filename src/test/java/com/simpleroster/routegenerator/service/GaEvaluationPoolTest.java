@@ -0,0 +1,70 @@
+package com.simpleroster.routegenerator.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GaEvaluationPoolTest {
+
+    // Parallelisms other than the processor count, which would get the shared pool
+    private static final int FIRST = Runtime.getRuntime().availableProcessors() + 1;
+    private static final int SECOND = Runtime.getRuntime().availableProcessors() + 2;
+
+    @Test
+    void sequentialEvaluationNeedsNoPool() {
+        GaEvaluationPool pools = new GaEvaluationPool();
+        assertNull(pools.acquirePool(1));
+        pools.releasePool(null);
+        pools.shutdown();
+    }
+
+    @Test
+    void runsAskingForTheSameParallelismShareOnePool() {
+        GaEvaluationPool pools = new GaEvaluationPool();
+        ForkJoinPool first = pools.acquirePool(FIRST);
+        ForkJoinPool second = pools.acquirePool(FIRST);
+
+        assertSame(first, second);
+        assertEquals(FIRST, first.getParallelism());
+        pools.releasePool(first);
+        pools.releasePool(second);
+        assertFalse(first.isShutdown(), "the current pool is kept");
+        pools.shutdown();
+        assertTrue(first.isShutdown());
+    }
+
+    @Test
+    void replacedPoolStaysUsableUntilItsLastRunReleasesIt() {
+        GaEvaluationPool pools = new GaEvaluationPool();
+        ForkJoinPool old = pools.acquirePool(FIRST);
+        ForkJoinPool current = pools.acquirePool(SECOND);
+
+        assertEquals(SECOND, current.getParallelism());
+        assertFalse(old.isShutdown(), "a run still holds the replaced pool");
+        assertEquals(3, (int) old.submit(() -> 1 + 2).join());
+
+        pools.releasePool(old);
+        assertTrue(old.isShutdown());
+        assertFalse(current.isShutdown());
+        pools.releasePool(current);
+        pools.shutdown();
+    }
+
+    @Test
+    void replacedPoolWithoutRunsIsShutDownRightAway() {
+        GaEvaluationPool pools = new GaEvaluationPool();
+        ForkJoinPool old = pools.acquirePool(FIRST);
+        pools.releasePool(old);
+        ForkJoinPool current = pools.acquirePool(SECOND);
+
+        assertTrue(old.isShutdown());
+        pools.releasePool(current);
+        pools.shutdown();
+    }
+}